@@ -0,0 +1,14 @@
+package org.sandbox.graphql.execution;
+
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+
+/**
+ * A query that is not on the persisted query allowlist, sent while only allowlisted queries may run.
+ */
+public class PersistedQueryNotAllowed extends PersistedQueryError {
+
+    @Override
+    public String getMessage() {
+        return "PersistedQueryNotAllowed";
+    }
+}
@@ -0,0 +1,181 @@
+package org.sandbox.graphql.execution;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Automatic persisted queries as defined by Apollo: a client sends the SHA-256 of its query in
+ * {@code extensions.persistedQuery.sha256Hash} instead of the text. An unknown hash is answered with a
+ * {@code PersistedQueryNotFound} error, the client sends the text along with the hash once, and from then on the
+ * hash alone is enough. Documents come from {@link PreparsedDocumentCache}, so a persisted query is still parsed
+ * and validated only once, and requests without a hash go straight to that cache.
+ * <p>
+ * Queries in {@code graphql/persisted-queries.json} (hash to query text) are registered at startup. With
+ * {@code -Dgraphql.persisted-queries.allowlist-only=true} only those run: clients cannot register new hashes and
+ * plain queries that are not in the manifest are rejected with {@code PersistedQueryNotAllowed}. The registry
+ * holds at most {@code -Dgraphql.persisted-queries.max-size} queries (1000 by default); once it is full, new
+ * queries still run but are not registered, so clients keep sending their text.
+ */
+@ApplicationScoped
+public class PersistedQueryRegistry implements PreparsedDocumentProvider, PersistedQueryCache {
+
+    static final String MANIFEST_RESOURCE = "graphql/persisted-queries.json";
+
+    private static final Logger log = LoggerFactory.getLogger(PersistedQueryRegistry.class);
+
+    private final int maxSize = Integer.getInteger("graphql.persisted-queries.max-size", 1000);
+    private final boolean allowlistOnly = Boolean.getBoolean("graphql.persisted-queries.allowlist-only");
+
+    private final PersistedQuerySupport support = new ApolloPersistedQuerySupport(this);
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+    private final Set<String> allowlist = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder registrations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Inject
+    private PreparsedDocumentCache documentCache;
+
+    public PersistedQueryRegistry() {
+    }
+
+    PersistedQueryRegistry(PreparsedDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    @PostConstruct
+    void loadManifest() {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(MANIFEST_RESOURCE)) {
+            if (inputStream == null) {
+                log.info("No {} found, starting without allowlisted queries", MANIFEST_RESOURCE);
+                return;
+            }
+            Map<String, String> manifest = new ObjectMapper().readValue(inputStream, new TypeReference<>() {
+            });
+            manifest.forEach(this::allow);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + MANIFEST_RESOURCE, e);
+        }
+        log.info("Loaded {} allowlisted persisted queries{}", allowlist.size(),
+                allowlistOnly ? ", other queries are rejected" : "");
+    }
+
+    /**
+     * Registers {@code query} under {@code hash} as an allowlisted query.
+     *
+     * @throws IllegalArgumentException if {@code hash} is not the SHA-256 of {@code query}
+     */
+    void allow(String hash, String query) {
+        if (!sha256(query).equals(hash)) {
+            throw new IllegalArgumentException("Persisted query " + hash + " does not match the hash of its text");
+        }
+        queries.put(hash, query);
+        allowlist.add(query);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        // Without a string hash the support parses the raw text itself, past the allowlist and the document cache
+        if (executionInput.getExtensions().get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String) {
+            return support.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        if (allowlistOnly && !allowlist.contains(executionInput.getQuery())) {
+            rejected.increment();
+            PersistedQueryNotAllowed error = new PersistedQueryNotAllowed();
+            return CompletableFuture.completedFuture(new PreparsedDocumentEntry(
+                    GraphqlErrorBuilder.newError().errorType(error).message(error.getMessage()).build()));
+        }
+        return documentCache.getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
+
+    /**
+     * Called by {@link ApolloPersistedQuerySupport} for requests with a hash. A text sent along with an unknown
+     * hash is registered if it matches the hash and validates.
+     */
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+            Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+        String hash = persistedQueryId.toString();
+        String query = queries.get(hash);
+        if (query != null) {
+            hits.increment();
+            PreparsedDocumentEntry entry = documentCache.getDocument(query, () -> onCacheMiss.apply(query));
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        String sent = executionInput.getQuery();
+        if (sent == null || sent.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(sent)) {
+            notFound.increment();
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        if (allowlistOnly) {
+            rejected.increment();
+            throw new PersistedQueryNotAllowed();
+        }
+        // Checked here as well as in onCacheMiss, which is skipped when the text is already in the document cache
+        if (!sha256(sent).equals(hash)) {
+            throw new PersistedQueryIdInvalid(persistedQueryId);
+        }
+
+        PreparsedDocumentEntry entry = documentCache.getDocument(sent, () -> onCacheMiss.apply(sent));
+        if (!entry.hasErrors() && queries.size() < maxSize && queries.putIfAbsent(hash, sent) == null) {
+            registrations.increment();
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("notFound", notFound.sum());
+        stats.put("registrations", registrations.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("size", queries.size());
+        stats.put("allowlisted", allowlist.size());
+        stats.put("maxSize", maxSize);
+        stats.put("allowlistOnly", allowlistOnly);
+        return stats;
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
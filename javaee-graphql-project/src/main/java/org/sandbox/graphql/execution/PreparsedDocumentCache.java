@@ -0,0 +1,97 @@
+package org.sandbox.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of parsed and validated query documents keyed by query text, so a query shape seen before skips
+ * parsing and validation. Ids must be passed as variables for this to pay off: a query with an inlined id is a new
+ * key for every id.
+ * <p>
+ * Only documents that validated cleanly are kept, so malformed queries cannot push real ones out. The size is set
+ * with {@code -Dgraphql.document-cache.max-size} (1000 by default).
+ */
+@ApplicationScoped
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+    private final int maxSize = Integer.getInteger("graphql.document-cache.max-size", 1000);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<String, PreparsedDocumentEntry> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(
+                getDocument(executionInput.getQuery(), () -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    /**
+     * @return the cached document for {@code query}, or the result of {@code parseAndValidate}, cached if it is valid
+     */
+    public PreparsedDocumentEntry getDocument(String query, Supplier<PreparsedDocumentEntry> parseAndValidate) {
+        PreparsedDocumentEntry entry;
+        synchronized (documents) {
+            entry = documents.get(query);
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        // Parsed outside the lock; two requests racing on a new query both parse it, which is harmless
+        entry = parseAndValidate.get();
+        if (!entry.hasErrors()) {
+            synchronized (documents) {
+                documents.put(query, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Drops every document, e.g. after the schema they were validated against was rebuilt.
+     */
+    public void clear() {
+        synchronized (documents) {
+            documents.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        synchronized (documents) {
+            stats.put("size", documents.size());
+        }
+        stats.put("maxSize", maxSize);
+        return stats;
+    }
+}
@@ -0,0 +1,32 @@
+package org.sandbox.graphql.fetcher;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.dataloader.MappedBatchLoader;
+import org.sandbox.graphql.model.Book;
+import org.sandbox.graphql.service.BookService;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads every book requested on one execution level with a single {@link BookService#getBooksByIds} query.
+ * Ids that do not exist are left out of the map, which the data loader resolves to {@code null}.
+ */
+@ApplicationScoped
+public class BookBatchLoader implements MappedBatchLoader<Long, Book> {
+
+    @Inject
+    private BookService bookService;
+
+    @Override
+    public CompletionStage<Map<Long, Book>> load(Set<Long> ids) {
+        // Runs on the request thread while graphql-java dispatches the level, like any other fetcher
+        return CompletableFuture.completedFuture(bookService.getBooksByIds(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity())));
+    }
+}
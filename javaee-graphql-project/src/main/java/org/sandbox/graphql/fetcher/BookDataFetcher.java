@@ -1,22 +1,32 @@
 package org.sandbox.graphql.fetcher;
 
 import org.sandbox.graphql.model.Book;
-import org.sandbox.graphql.service.BookService;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
+import org.dataloader.DataLoader;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves {@code book(id:)} through the request's {@value #DATA_LOADER} data loader, so aliased lookups on the
+ * same level are fetched together by {@link BookBatchLoader}.
+ */
 @ApplicationScoped
-public class BookDataFetcher implements DataFetcher<Book> {
+public class BookDataFetcher implements DataFetcher<CompletableFuture<Book>> {
 
-    @Inject
-    private BookService bookService;
+    public static final String DATA_LOADER = "book";
 
     @Override
-    public Book get(DataFetchingEnvironment environment) {
+    public CompletableFuture<Book> get(DataFetchingEnvironment environment) {
         String id = environment.getArgument("id"); // Get the argument from the query
         assert id != null;
-        return bookService.getBookById(Long.parseLong(id)).orElse(null); // Return the book or null if not found
+        long bookId = Long.parseLong(id);
+        // Checked per field, so one bad id does not fail the whole batch
+        if (bookId <= 0) {
+            throw new IllegalArgumentException("Book ID must be a positive number");
+        }
+        DataLoader<Long, Book> books = environment.getDataLoader(DATA_LOADER);
+        return books.load(bookId); // Completes with null if the book does not exist
     }
 }
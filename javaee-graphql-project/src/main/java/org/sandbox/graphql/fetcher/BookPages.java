@@ -0,0 +1,77 @@
+package org.sandbox.graphql.fetcher;
+
+import graphql.relay.Connection;
+import graphql.relay.ConnectionCursor;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
+import org.sandbox.graphql.model.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Relay connections over books with {@code first}/{@code after} arguments. Pages are keyset pages on the book id:
+ * a cursor encodes the id of its book and the next page starts after it, so a page costs the same however deep it
+ * is and books added or deleted meanwhile do not shift the pages. {@code first} is capped at
+ * {@code -Dgraphql.pagination.max-page-size} (100 by default).
+ */
+final class BookPages {
+
+    static final int MAX_PAGE_SIZE = Integer.getInteger("graphql.pagination.max-page-size", 100);
+
+    private static final String CURSOR_PREFIX = "book:";
+
+    private BookPages() {
+    }
+
+    /**
+     * Reads {@code first} and {@code after} and fetches one book more than asked for, which tells whether there is
+     * a next page.
+     *
+     * @param fetchPage loads up to the given number of books after the given id ({@code null} for the first page)
+     */
+    static Connection<Book> connection(DataFetchingEnvironment environment,
+                                       BiFunction<Long, Integer, List<Book>> fetchPage) {
+        Integer first = environment.getArgument("first");
+        if (first != null && first < 0) {
+            throw new IllegalArgumentException("first cannot be negative");
+        }
+        int pageSize = first == null ? MAX_PAGE_SIZE : Math.min(first, MAX_PAGE_SIZE);
+        String after = environment.getArgument("after");
+        Long afterId = after == null ? null : decodeCursor(after);
+
+        List<Book> books = fetchPage.apply(afterId, pageSize + 1);
+        boolean hasNextPage = books.size() > pageSize;
+        List<Edge<Book>> edges = books.stream()
+                .limit(pageSize)
+                .<Edge<Book>>map(book -> new DefaultEdge<>(book, cursor(book)))
+                .toList();
+        ConnectionCursor startCursor = edges.isEmpty() ? null : edges.get(0).getCursor();
+        ConnectionCursor endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        // Only forward paging is supported; books before the cursor exist as long as it came from a real page
+        return new DefaultConnection<>(edges, new DefaultPageInfo(startCursor, endCursor, afterId != null, hasNextPage));
+    }
+
+    static ConnectionCursor cursor(Book book) {
+        byte[] value = (CURSOR_PREFIX + book.getId()).getBytes(StandardCharsets.UTF_8);
+        return new DefaultConnectionCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(value));
+    }
+
+    static long decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(value.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; NumberFormatException is an IllegalArgumentException too
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
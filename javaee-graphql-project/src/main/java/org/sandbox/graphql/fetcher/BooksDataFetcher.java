@@ -0,0 +1,30 @@
+package org.sandbox.graphql.fetcher;
+
+import graphql.relay.Connection;
+import org.sandbox.graphql.model.Book;
+import org.sandbox.graphql.service.BookService;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Paged replacement for {@code allBooks} and {@code booksByAuthor}: one page of all books, or of the books of
+ * {@code author} when it is given.
+ */
+@ApplicationScoped
+public class BooksDataFetcher implements DataFetcher<Connection<Book>> {
+
+    @Inject
+    private BookService bookService;
+
+    @Override
+    public Connection<Book> get(DataFetchingEnvironment environment) {
+        String author = environment.getArgument("author");
+        if (author == null) {
+            return BookPages.connection(environment, bookService::getBooksPage);
+        }
+        return BookPages.connection(environment,
+                (afterId, limit) -> bookService.getBooksByAuthorPage(author, afterId, limit));
+    }
+}
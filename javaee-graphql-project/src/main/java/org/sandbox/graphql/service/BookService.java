@@ -6,6 +6,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,22 @@ public class BookService {
         }
     }
 
+    /**
+     * Keyset page of all books: up to {@code limit} books with an id greater than {@code afterId} (from the start
+     * when it is {@code null}), ordered by id. Served from the primary key index however deep the page is.
+     */
+    public List<Book> getBooksPage(Long afterId, int limit) {
+        validatePage(afterId, limit);
+        try {
+            return em.createQuery("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id", Book.class)
+                    .setParameter("afterId", afterId == null ? 0L : afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving books after ID: " + afterId, e);
+        }
+    }
+
     public Optional<Book> getBookById(Long id) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("Book ID must be a positive number");
@@ -35,6 +52,30 @@ public class BookService {
         }
     }
 
+    /**
+     * Loads all given books with a single {@code IN} query. Ids that do not exist are simply absent from the result.
+     */
+    public List<Book> getBooksByIds(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Book IDs cannot be null");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("Book ID must be a positive number");
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return em.createQuery("SELECT b FROM Book b WHERE b.id IN :ids", Book.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving books with IDs: " + ids, e);
+        }
+    }
+
     public List<Book> getBooksByAuthor(String author) {
         if (author == null || author.trim().isEmpty()) {
             throw new IllegalArgumentException("Author name cannot be null or empty");
@@ -48,6 +89,35 @@ public class BookService {
         }
     }
 
+    /**
+     * Keyset page of {@link #getBooksByAuthor}, see {@link #getBooksPage}.
+     */
+    public List<Book> getBooksByAuthorPage(String author, Long afterId, int limit) {
+        if (author == null || author.trim().isEmpty()) {
+            throw new IllegalArgumentException("Author name cannot be null or empty");
+        }
+        validatePage(afterId, limit);
+        try {
+            return em.createQuery("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(:author) "
+                            + "AND b.id > :afterId ORDER BY b.id", Book.class)
+                    .setParameter("author", "%" + author + "%")
+                    .setParameter("afterId", afterId == null ? 0L : afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving books by author: " + author, e);
+        }
+    }
+
+    private static void validatePage(Long afterId, int limit) {
+        if (afterId != null && afterId < 0) {
+            throw new IllegalArgumentException("Book ID to page after cannot be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+    }
+
     @Transactional
     public Book addBook(Book book) {
         if (book == null) {
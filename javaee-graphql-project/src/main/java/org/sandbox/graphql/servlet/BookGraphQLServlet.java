@@ -1,5 +1,9 @@
 package org.sandbox.graphql.servlet;
 
+import graphql.kickstart.execution.BatchedDataLoaderGraphQLBuilder;
+import graphql.kickstart.execution.GraphQLInvoker;
+import graphql.kickstart.execution.GraphQLObjectMapper;
+import graphql.kickstart.execution.GraphQLRequest;
 import graphql.kickstart.servlet.GraphQLConfiguration;
 import graphql.kickstart.servlet.GraphQLHttpServlet;
 import graphql.schema.GraphQLSchema;
@@ -9,25 +13,42 @@ import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import jakarta.inject.Inject;
 import jakarta.servlet.annotation.WebServlet;
+import org.sandbox.graphql.execution.PersistedQueryRegistry;
+import org.sandbox.graphql.execution.PreparsedDocumentCache;
 import org.sandbox.graphql.fetcher.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
 
+/**
+ * GraphQL endpoint. The kickstart servlet calls {@link #getConfiguration()} on every request, so the schema, the
+ * engine and the configuration are built once in {@link #init()} and the same immutable instances are returned
+ * to every request. Parsed and validated query documents are cached by {@link PreparsedDocumentCache}, and
+ * clients can send the hash of a query instead of its text, see {@link PersistedQueryRegistry}. Books are loaded
+ * through a per-request data loader, so aliased {@code book} lookups cost one query, see {@link BookBatchLoader}.
+ * <p>
+ * With {@code -Dgraphql.schema.hot-reload=true} (development only) {@code schema.graphql} is checked for changes
+ * on each request and the configuration is rebuilt when it was modified.
+ */
 @WebServlet(name = "GraphQLServlet", urlPatterns = "/graphql")
 public class BookGraphQLServlet extends GraphQLHttpServlet {
 
     private static final Logger log = LoggerFactory.getLogger(BookGraphQLServlet.class);
+    private static final String SCHEMA_RESOURCE = "graphql/schema.graphql";
 
     @Inject
     private AllBooksDataFetcher allBooksDataFetcher;
     @Inject
+    private BooksDataFetcher booksDataFetcher;
+    @Inject
     private BookDataFetcher bookDataFetcher;
     @Inject
+    private BookBatchLoader bookBatchLoader;
+    @Inject
     private BooksByAuthorDataFetcher booksByAuthorDataFetcher;
     @Inject
     private AddBookDataFetcher addBookDataFetcher;
@@ -35,22 +56,85 @@ public class BookGraphQLServlet extends GraphQLHttpServlet {
     private UpdateBookDataFetcher updateBookDataFetcher;
     @Inject
     private DeleteBookDataFetcher deleteBookDataFetcher;
+    @Inject
+    private PreparsedDocumentCache documentCache;
+    @Inject
+    private PersistedQueryRegistry persistedQueries;
+
+    private final boolean hotReload = Boolean.getBoolean("graphql.schema.hot-reload");
+    private final CachingGraphQLBuilder graphQLBuilder = new CachingGraphQLBuilder();
+    private final GraphQLObjectMapper objectMapper = GraphQLObjectMapper.newBuilder()
+            .withObjectMapperConfigurer(
+                    mapper -> mapper.addMixIn(GraphQLRequest.class, PersistedQueryRequest.Mixin.class))
+            .build();
+
+    private volatile GraphQLConfiguration configuration;
+    private volatile long schemaLastModified;
+
+    @Override
+    public void init() {
+        graphQLBuilder.preparsedDocumentProvider(() -> persistedQueries);
+        configuration = buildConfiguration();
+        if (hotReload) {
+            log.warn("GraphQL schema hot reload is enabled; do not use this in production");
+        }
+    }
 
     @Override
     protected GraphQLConfiguration getConfiguration() {
+        if (hotReload && schemaModified()) {
+            synchronized (this) {
+                if (schemaModified()) {
+                    log.info("{} changed, rebuilding the GraphQL schema", SCHEMA_RESOURCE);
+                    configuration = buildConfiguration();
+                    // Cached documents were validated against the old schema
+                    documentCache.clear();
+                }
+            }
+        }
+        return configuration;
+    }
+
+    private GraphQLConfiguration buildConfiguration() {
+        long start = System.nanoTime();
+        schemaLastModified = lastModified();
         try {
-            return GraphQLConfiguration.with(createSchema()).build();
+            GraphQLSchema schema = createSchema();
+            GraphQLConfiguration built = GraphQLConfiguration.with(schema)
+                    .with(new GraphQLInvoker(graphQLBuilder, new BatchedDataLoaderGraphQLBuilder()))
+                    .with(objectMapper)
+                    .with(new DataLoaderContextBuilder(bookBatchLoader))
+                    .build();
+            // Builds the engine now rather than on the first request
+            graphQLBuilder.build(schema);
+            log.info("GraphQL schema and engine built in {} ms", (System.nanoTime() - start) / 1_000_000);
+            return built;
         } catch (IOException e) {
-            log.warn(Paths.get(".").getFileName().toString());
             log.error("Could not create GraphQL schema: {}", e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    private boolean schemaModified() {
+        return lastModified() != schemaLastModified;
+    }
+
+    private long lastModified() {
+        URL resource = getClass().getClassLoader().getResource(SCHEMA_RESOURCE);
+        if (resource == null) {
+            return 0;
+        }
+        try {
+            return resource.openConnection().getLastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
     private GraphQLSchema createSchema() throws IOException {
         // Load schema from the schema.graphql file
         String schema;
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("graphql/schema.graphql")) {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(SCHEMA_RESOURCE)) {
             if (inputStream == null) {
                 throw new RuntimeException("Unable to find schema.graphql");
             }
@@ -66,6 +150,7 @@ public class BookGraphQLServlet extends GraphQLHttpServlet {
         RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
                 .type("Query", builder -> {
                     builder.dataFetcher("allBooks", allBooksDataFetcher);
+                    builder.dataFetcher("books", booksDataFetcher);
                     builder.dataFetcher("book", bookDataFetcher); // Implement this DataFetcher
                     builder.dataFetcher("booksByAuthor", booksByAuthorDataFetcher); // Implement this DataFetcher
                     return builder;
@@ -84,4 +169,3 @@ public class BookGraphQLServlet extends GraphQLHttpServlet {
     }
 
 }
-
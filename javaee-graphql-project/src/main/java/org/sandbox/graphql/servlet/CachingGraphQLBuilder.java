@@ -0,0 +1,29 @@
+package org.sandbox.graphql.servlet;
+
+import graphql.GraphQL;
+import graphql.kickstart.execution.config.GraphQLBuilder;
+import graphql.schema.GraphQLSchema;
+
+/**
+ * The kickstart invoker asks its builder for a new {@link GraphQL} on every request. Engines are immutable and
+ * thread-safe, so this builder creates one per schema instance and hands the same engine to every request.
+ * Batched requests, which need their own instrumentation, still get a fresh engine.
+ */
+class CachingGraphQLBuilder extends GraphQLBuilder {
+
+    private volatile Engine engine;
+
+    private record Engine(GraphQLSchema schema, GraphQL graphQL) {
+    }
+
+    @Override
+    public GraphQL build(GraphQLSchema schema) {
+        Engine current = engine;
+        if (current == null || current.schema() != schema) {
+            // A race only builds a spare engine for the same schema, never a wrong one
+            current = new Engine(schema, super.build(schema));
+            engine = current;
+        }
+        return current.graphQL();
+    }
+}
@@ -0,0 +1,31 @@
+package org.sandbox.graphql.servlet;
+
+import graphql.kickstart.execution.context.GraphQLKickstartContext;
+import graphql.kickstart.servlet.context.DefaultGraphQLServletContextBuilder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.dataloader.DataLoaderFactory;
+import org.sandbox.graphql.fetcher.BookBatchLoader;
+import org.sandbox.graphql.fetcher.BookDataFetcher;
+
+/**
+ * Gives every request its own data loaders. Loaders cache what they loaded, so sharing them between requests would
+ * serve stale books; per request, the cache only dedupes ids within one query. graphql-java dispatches the loaders
+ * of the request's registry once per execution level.
+ */
+class DataLoaderContextBuilder extends DefaultGraphQLServletContextBuilder {
+
+    private final BookBatchLoader bookBatchLoader;
+
+    DataLoaderContextBuilder(BookBatchLoader bookBatchLoader) {
+        this.bookBatchLoader = bookBatchLoader;
+    }
+
+    @Override
+    public GraphQLKickstartContext build(HttpServletRequest request, HttpServletResponse response) {
+        GraphQLKickstartContext context = super.build(request, response);
+        context.getDataLoaderRegistry()
+                .register(BookDataFetcher.DATA_LOADER, DataLoaderFactory.newMappedDataLoader(bookBatchLoader));
+        return context;
+    }
+}
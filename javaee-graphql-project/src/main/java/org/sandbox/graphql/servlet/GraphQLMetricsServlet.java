@@ -0,0 +1,35 @@
+package org.sandbox.graphql.servlet;
+
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.sandbox.graphql.execution.PersistedQueryRegistry;
+import org.sandbox.graphql.execution.PreparsedDocumentCache;
+
+import java.io.IOException;
+
+/**
+ * Cache statistics of the GraphQL endpoint as JSON.
+ */
+@WebServlet(name = "GraphQLMetricsServlet", urlPatterns = "/metrics/graphql")
+public class GraphQLMetricsServlet extends HttpServlet {
+
+    @Inject
+    private PreparsedDocumentCache documentCache;
+    @Inject
+    private PersistedQueryRegistry persistedQueries;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(Json.createObjectBuilder()
+                .add("documentCache", Json.createObjectBuilder(documentCache.getStats()))
+                .add("persistedQueries", Json.createObjectBuilder(persistedQueries.getStats()))
+                .build()
+                .toString());
+    }
+}
@@ -0,0 +1,29 @@
+package org.sandbox.graphql.servlet;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.kickstart.execution.GraphQLRequest;
+
+/**
+ * Request body of a POST that may leave out the query. Kickstart refuses to execute a request without a query, but a
+ * persisted query request only sends the hash, so the missing query is replaced by graphql-java's marker and the
+ * {@link org.sandbox.graphql.execution.PersistedQueryRegistry} looks the text up by hash.
+ */
+class PersistedQueryRequest extends GraphQLRequest {
+
+    public PersistedQueryRequest() {
+        setQuery(null);
+    }
+
+    @Override
+    public void setQuery(String query) {
+        super.setQuery(query != null ? query : PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+    }
+
+    /**
+     * Mix-in for {@link GraphQLRequest} that makes Jackson read request bodies as {@link PersistedQueryRequest}.
+     */
+    @JsonDeserialize(as = PersistedQueryRequest.class)
+    interface Mixin {
+    }
+}
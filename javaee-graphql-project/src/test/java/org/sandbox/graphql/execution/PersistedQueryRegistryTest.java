@@ -0,0 +1,149 @@
+package org.sandbox.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistedQueryRegistryTest {
+
+    private static final String HELLO_QUERY = "query Hello($name: String) { hello(name: $name) }";
+
+    private final GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+            new SchemaParser().parse("type Query { hello(name: String): String }"),
+            RuntimeWiring.newRuntimeWiring()
+                    .type("Query", builder -> builder.dataFetcher("hello",
+                            env -> "Hello " + env.getArgument("name")))
+                    .build());
+
+    private final PreparsedDocumentCache documentCache = new PreparsedDocumentCache();
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("graphql.persisted-queries.allowlist-only");
+    }
+
+    @Test
+    void testUnknownHashIsRegisteredOnRetryWithText() {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+        GraphQL graphQL = graphQL(registry);
+
+        ExecutionResult miss = graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER));
+        assertEquals("PersistedQueryNotFound", miss.getErrors().get(0).getMessage());
+
+        ExecutionResult registration = graphQL.execute(persisted(HELLO_QUERY));
+        assertTrue(registration.getErrors().isEmpty());
+
+        ExecutionResult hit = graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER));
+        assertTrue(hit.getErrors().isEmpty());
+        assertEquals(Map.of("hello", "Hello reviewer"), hit.getData());
+
+        Map<String, Object> stats = registry.getStats();
+        assertEquals(1L, stats.get("notFound"));
+        assertEquals(1L, stats.get("registrations"));
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, documentCache.getStats().get("misses"));
+    }
+
+    @Test
+    void testTextNotMatchingHashIsNotRegistered() {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+        // Already parsed as a plain query, so the document cache would not check the hash
+        graphQL(registry).execute(input("{ hello }"));
+
+        ExecutionResult result = graphQL(registry).execute(ExecutionInput.newExecutionInput("{ hello }")
+                .extensions(persistedQueryExtension(PersistedQueryRegistry.sha256(HELLO_QUERY)))
+                .build());
+
+        assertEquals("PersistedQueryIdInvalid", result.getErrors().get(0).getMessage());
+        assertEquals(0L, registry.getStats().get("registrations"));
+    }
+
+    @Test
+    void testAllowlistOnlyRejectsQueriesOutsideTheManifest() {
+        System.setProperty("graphql.persisted-queries.allowlist-only", "true");
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+        registry.allow(PersistedQueryRegistry.sha256(HELLO_QUERY), HELLO_QUERY);
+        GraphQL graphQL = graphQL(registry);
+
+        assertTrue(graphQL.execute(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER)).getErrors().isEmpty());
+        assertTrue(graphQL.execute(input(HELLO_QUERY)).getErrors().isEmpty());
+
+        ExecutionResult plain = graphQL.execute(input("{ hello }"));
+        assertEquals("PersistedQueryNotAllowed", plain.getErrors().get(0).getMessage());
+        ExecutionResult registration = graphQL.execute(ExecutionInput.newExecutionInput("{ hello }")
+                .extensions(persistedQueryExtension(PersistedQueryRegistry.sha256("{ hello }")))
+                .build());
+        assertEquals("PersistedQueryNotAllowed", registration.getErrors().get(0).getMessage());
+        assertEquals(2L, registry.getStats().get("rejected"));
+    }
+
+    @Test
+    void testAllowlistOnlyRejectsPersistedQueryExtensionWithoutHash() {
+        System.setProperty("graphql.persisted-queries.allowlist-only", "true");
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+        registry.allow(PersistedQueryRegistry.sha256(HELLO_QUERY), HELLO_QUERY);
+        GraphQL graphQL = graphQL(registry);
+
+        ExecutionResult empty = graphQL.execute(ExecutionInput.newExecutionInput("{ hello }")
+                .extensions(Map.of("persistedQuery", Map.of()))
+                .build());
+        assertEquals("PersistedQueryNotAllowed", empty.getErrors().get(0).getMessage());
+        ExecutionResult noHash = graphQL.execute(ExecutionInput.newExecutionInput("{ hello }")
+                .extensions(persistedQueryExtension(null))
+                .build());
+        assertEquals("PersistedQueryNotAllowed", noHash.getErrors().get(0).getMessage());
+        assertEquals(2L, registry.getStats().get("rejected"));
+        assertEquals(0L, documentCache.getStats().get("misses"));
+    }
+
+    @Test
+    void testManifestEntryMustMatchItsHash() {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.allow(PersistedQueryRegistry.sha256("{ hello }"), HELLO_QUERY));
+    }
+
+    @Test
+    void testShippedManifestIsValid() {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(documentCache);
+
+        registry.loadManifest();
+
+        assertTrue((Integer) registry.getStats().get("allowlisted") > 0);
+    }
+
+    private GraphQL graphQL(PersistedQueryRegistry registry) {
+        return GraphQL.newGraphQL(schema).preparsedDocumentProvider(registry).build();
+    }
+
+    private static ExecutionInput persisted(String query) {
+        return ExecutionInput.newExecutionInput(query)
+                .variables(Map.of("name", "reviewer"))
+                .extensions(persistedQueryExtension(PersistedQueryRegistry.sha256(HELLO_QUERY)))
+                .build();
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+
+    private static Map<String, Object> persistedQueryExtension(String hash) {
+        Map<String, Object> persistedQuery = new HashMap<>();
+        persistedQuery.put("version", 1);
+        persistedQuery.put("sha256Hash", hash);
+        return Map.of("persistedQuery", persistedQuery);
+    }
+}
@@ -0,0 +1,90 @@
+package org.sandbox.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import graphql.validation.ValidationErrorType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparsedDocumentCacheTest {
+
+    private static final String BOOK_QUERY = "query Book($id: ID!) { book(id: $id) { id title } }";
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parse = input -> {
+        parses.incrementAndGet();
+        return new PreparsedDocumentEntry(Document.newDocument().build());
+    };
+
+    private PreparsedDocumentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("graphql.document-cache.max-size", "2");
+        cache = new PreparsedDocumentCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("graphql.document-cache.max-size");
+    }
+
+    @Test
+    void testSameQueryIsParsedOnce() {
+        PreparsedDocumentEntry first = cache.getDocumentAsync(input(BOOK_QUERY), parse).join();
+        PreparsedDocumentEntry second = cache.getDocumentAsync(input(BOOK_QUERY), parse).join();
+
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(0.5, stats.get("hitRate"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedQueryIsEvicted() {
+        cache.getDocumentAsync(input("{ a }"), parse).join();
+        cache.getDocumentAsync(input("{ b }"), parse).join();
+        cache.getDocumentAsync(input("{ a }"), parse).join(); // a is now the most recently used
+        cache.getDocumentAsync(input("{ c }"), parse).join();
+
+        cache.getDocumentAsync(input("{ a }"), parse).join();
+        cache.getDocumentAsync(input("{ b }"), parse).join();
+
+        assertEquals(4, parses.get());
+        assertEquals(2, cache.getStats().get("size"));
+        assertEquals(2L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    void testInvalidDocumentIsNotCached() {
+        Function<ExecutionInput, PreparsedDocumentEntry> invalid = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(ValidationError.newValidationError()
+                    .validationErrorType(ValidationErrorType.FieldUndefined)
+                    .description("Field 'nope' is undefined")
+                    .build());
+        };
+
+        cache.getDocumentAsync(input("{ nope }"), invalid).join();
+        PreparsedDocumentEntry entry = cache.getDocumentAsync(input("{ nope }"), invalid).join();
+
+        assertTrue(entry.hasErrors());
+        assertEquals(2, parses.get());
+        assertEquals(0, cache.getStats().get("size"));
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.sandbox.graphql.fetcher;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.graphql.model.Book;
+import org.sandbox.graphql.service.BookService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookDataFetcherTest {
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private BookBatchLoader bookBatchLoader;
+
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String schema;
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("graphql/schema.graphql")) {
+            schema = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schema),
+                RuntimeWiring.newRuntimeWiring()
+                        .type("Query", builder -> builder.dataFetcher("book", new BookDataFetcher()))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void testAliasedBooksAreLoadedWithOneQuery() {
+        when(bookService.getBooksByIds(any())).thenReturn(List.of(
+                new Book(1L, "Book 1", "Author 1", 2020), new Book(2L, "Book 2", "Author 2", 2021)));
+
+        ExecutionResult result = execute(
+                "{ b0: book(id: \"1\") { title } b1: book(id: \"2\") { title } b2: book(id: \"3\") { title } "
+                        + "b3: book(id: \"1\") { title } }");
+
+        assertTrue(result.getErrors().isEmpty());
+        Map<String, Object> data = result.getData();
+        assertEquals(Map.of("title", "Book 1"), data.get("b0"));
+        assertEquals(Map.of("title", "Book 2"), data.get("b1"));
+        assertNull(data.get("b2"));
+        assertEquals(Map.of("title", "Book 1"), data.get("b3"));
+        verify(bookService).getBooksByIds(Set.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(bookService);
+    }
+
+    @Test
+    void testInvalidIdOnlyFailsItsOwnField() {
+        when(bookService.getBooksByIds(any())).thenReturn(List.of(new Book(1L, "Book 1", "Author 1", 2020)));
+
+        ExecutionResult result = execute("{ b0: book(id: \"1\") { title } b1: book(id: \"0\") { title } }");
+
+        assertEquals(1, result.getErrors().size());
+        Map<String, Object> data = result.getData();
+        assertEquals(Map.of("title", "Book 1"), data.get("b0"));
+        assertNull(data.get("b1"));
+    }
+
+    private ExecutionResult execute(String query) {
+        DataLoaderRegistry registry = DataLoaderRegistry.newRegistry()
+                .register(BookDataFetcher.DATA_LOADER, DataLoaderFactory.newMappedDataLoader(bookBatchLoader))
+                .build();
+        return graphQL.execute(ExecutionInput.newExecutionInput(query).dataLoaderRegistry(registry).build());
+    }
+}
@@ -0,0 +1,124 @@
+package org.sandbox.graphql.fetcher;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.graphql.model.Book;
+import org.sandbox.graphql.service.BookService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BooksDataFetcherTest {
+
+    private static final String PAGE = "{ edges { cursor node { id } } "
+            + "pageInfo { hasNextPage hasPreviousPage startCursor endCursor } }";
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private BooksDataFetcher booksDataFetcher;
+
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String schema;
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("graphql/schema.graphql")) {
+            schema = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schema),
+                RuntimeWiring.newRuntimeWiring()
+                        .type("Query", builder -> builder.dataFetcher("books", booksDataFetcher))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void testFirstPageFetchesOneExtraBookForHasNextPage() {
+        when(bookService.getBooksPage(null, 3)).thenReturn(List.of(book(1L), book(2L), book(5L)));
+
+        Map<String, Object> page = books(execute("{ books(first: 2) " + PAGE + " }"));
+
+        assertEquals(2, edges(page).size());
+        Map<String, Object> pageInfo = pageInfo(page);
+        assertEquals(true, pageInfo.get("hasNextPage"));
+        assertEquals(false, pageInfo.get("hasPreviousPage"));
+        assertEquals(edges(page).get(1).get("cursor"), pageInfo.get("endCursor"));
+        assertEquals(2L, BookPages.decodeCursor((String) pageInfo.get("endCursor")));
+    }
+
+    @Test
+    void testNextPageStartsAfterCursor() {
+        String after = BookPages.cursor(book(2L)).getValue();
+        when(bookService.getBooksByAuthorPage("Author", 2L, 3)).thenReturn(List.of(book(5L)));
+
+        Map<String, Object> page = books(execute(
+                "{ books(author: \"Author\", first: 2, after: \"" + after + "\") " + PAGE + " }"));
+
+        assertEquals(List.of(Map.of("cursor", BookPages.cursor(book(5L)).getValue(), "node", Map.of("id", "5"))),
+                edges(page));
+        assertEquals(false, pageInfo(page).get("hasNextPage"));
+        assertEquals(true, pageInfo(page).get("hasPreviousPage"));
+    }
+
+    @Test
+    void testPageSizeIsCappedByTheServer() {
+        when(bookService.getBooksPage(null, BookPages.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        Map<String, Object> page = books(execute("{ books(first: 100000) " + PAGE + " }"));
+
+        assertTrue(edges(page).isEmpty());
+        assertNull(pageInfo(page).get("endCursor"));
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        ExecutionResult result = execute("{ books(after: \"not-a-cursor\") " + PAGE + " }");
+
+        assertEquals(1, result.getErrors().size());
+        verify(bookService, never()).getBooksPage(any(), anyInt());
+    }
+
+    private ExecutionResult execute(String query) {
+        return graphQL.execute(query);
+    }
+
+    private static Book book(Long id) {
+        return new Book(id, "Book " + id, "Author", 2020);
+    }
+
+    private static Map<String, Object> books(ExecutionResult result) {
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        Map<String, Map<String, Object>> data = result.getData();
+        return data.get("books");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> edges(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("edges");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> pageInfo(Map<String, Object> page) {
+        return (Map<String, Object>) page.get("pageInfo");
+    }
+}
@@ -95,6 +95,96 @@ class BookServiceTest {
         assertEquals("Book ID must be a positive number", exception.getMessage());
     }
 
+    @Test
+    void testGetBooksByIds() {
+        List<Book> expectedBooks = Arrays.asList(new Book(1L, "Book 1", "Author 1", 2020),
+                new Book(3L, "Book 3", "Author 3", 2022));
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+
+        TypedQuery<Book> mockQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(mockQuery);
+        when(mockQuery.setParameter("ids", ids)).thenReturn(mockQuery);
+        when(mockQuery.getResultList()).thenReturn(expectedBooks);
+
+        List<Book> actualBooks = bookService.getBooksByIds(ids);
+
+        assertEquals(expectedBooks, actualBooks);
+        verify(entityManager).createQuery("SELECT b FROM Book b WHERE b.id IN :ids", Book.class);
+        verify(mockQuery).getResultList();
+    }
+
+    @Test
+    void testGetBooksByIds_EmptyIds() {
+        assertTrue(bookService.getBooksByIds(List.of()).isEmpty());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testGetBooksByIds_InvalidId() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(Arrays.asList(1L, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(Arrays.asList(1L, null)));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByIds(null));
+    }
+
+    @Test
+    void testGetBooksPage() {
+        List<Book> expectedBooks = Arrays.asList(new Book(11L, "Book 11", "Author 1", 2020),
+                new Book(12L, "Book 12", "Author 2", 2021));
+
+        TypedQuery<Book> mockQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(mockQuery);
+        when(mockQuery.setParameter("afterId", 10L)).thenReturn(mockQuery);
+        when(mockQuery.setMaxResults(2)).thenReturn(mockQuery);
+        when(mockQuery.getResultList()).thenReturn(expectedBooks);
+
+        List<Book> actualBooks = bookService.getBooksPage(10L, 2);
+
+        assertEquals(expectedBooks, actualBooks);
+        verify(entityManager).createQuery("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id", Book.class);
+        verify(mockQuery).setMaxResults(2);
+    }
+
+    @Test
+    void testGetBooksPage_FirstPage() {
+        TypedQuery<Book> mockQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(mockQuery);
+        when(mockQuery.setParameter("afterId", 0L)).thenReturn(mockQuery);
+        when(mockQuery.setMaxResults(5)).thenReturn(mockQuery);
+        when(mockQuery.getResultList()).thenReturn(List.of());
+
+        assertTrue(bookService.getBooksPage(null, 5).isEmpty());
+        verify(mockQuery).setParameter("afterId", 0L);
+    }
+
+    @Test
+    void testGetBooksPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage(-1L, 5));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage(null, 0));
+    }
+
+    @Test
+    void testGetBooksByAuthorPage() {
+        List<Book> expectedBooks = List.of(new Book(3L, "Book 3", "Author 1", 2020));
+
+        TypedQuery<Book> mockQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Book.class))).thenReturn(mockQuery);
+        when(mockQuery.setParameter("author", "%Author 1%")).thenReturn(mockQuery);
+        when(mockQuery.setParameter("afterId", 2L)).thenReturn(mockQuery);
+        when(mockQuery.setMaxResults(3)).thenReturn(mockQuery);
+        when(mockQuery.getResultList()).thenReturn(expectedBooks);
+
+        List<Book> actualBooks = bookService.getBooksByAuthorPage("Author 1", 2L, 3);
+
+        assertEquals(expectedBooks, actualBooks);
+        verify(entityManager).createQuery("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(:author) "
+                + "AND b.id > :afterId ORDER BY b.id", Book.class);
+    }
+
+    @Test
+    void testGetBooksByAuthorPage_EmptyAuthor() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksByAuthorPage(" ", null, 5));
+    }
+
     @Test
     void testGetBooksByAuthor() {
         Book book1 = new Book(1L, "Book 1", "Author 1", 2020);
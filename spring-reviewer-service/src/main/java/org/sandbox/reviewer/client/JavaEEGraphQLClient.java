@@ -0,0 +1,510 @@
+package org.sandbox.reviewer.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.sandbox.reviewer.resilience.Bulkhead;
+import org.sandbox.reviewer.resilience.BulkheadFullException;
+import org.sandbox.reviewer.resilience.CallNotPermittedException;
+import org.sandbox.reviewer.resilience.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP transport for GraphQL calls to the JavaEE library app, with a blocking and a non-blocking path.
+ * Both return the {@code data} node of the response, or {@code null} when the call did not produce one.
+ * <p>
+ * Every call goes through a {@link CircuitBreaker} and a {@link Bulkhead}. While the circuit is open, or when the
+ * bulkhead is full, a call fails fast with a {@link java.util.concurrent.RejectedExecutionException} subtype instead
+ * of waiting on a dependency that is down or saturated. I/O errors, timeouts and 5xx responses count as failures;
+ * 4xx responses and GraphQL errors do not, since they say nothing about the app's health.
+ * <p>
+ * With {@code javaee.graphql.persisted-queries} on, a query is sent as its SHA-256 hash only (automatic persisted
+ * queries). When the app does not know the hash yet it answers {@code PersistedQueryNotFound}, and the query is
+ * sent once more with its text so the app registers it; both requests count as one call for the circuit breaker
+ * and the bulkhead.
+ */
+@Component
+public class JavaEEGraphQLClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(JavaEEGraphQLClient.class);
+
+    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient asyncHttpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String javaEEAppUrl = "http://javaee-app:8080"; // Using service name in Docker
+
+    @Value("${javaee.http.max-total:50}")
+    private int maxTotal;
+
+    @Value("${javaee.http.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${javaee.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${javaee.http.socket-timeout-ms:5000}")
+    private long socketTimeoutMs;
+
+    @Value("${javaee.http.pool-wait-timeout-ms:5000}")
+    private long poolWaitTimeoutMs;
+
+    @Value("${javaee.http.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${javaee.http.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${javaee.http.async.max-total:50}")
+    private int asyncMaxTotal;
+
+    @Value("${javaee.http.async.max-per-route:50}")
+    private int asyncMaxPerRoute;
+
+    // HTTP/2 without TLS (h2c, prior knowledge); only for a plain-http backend that speaks it
+    @Value("${javaee.http.async.h2c:false}")
+    private boolean asyncH2c;
+
+    @Value("${javaee.http.request-deadline-ms:3000}")
+    private long requestDeadlineMs;
+
+    @Value("${javaee.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold = 50;
+
+    @Value("${javaee.circuit.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold = 80;
+
+    @Value("${javaee.circuit.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs = 2000;
+
+    @Value("${javaee.circuit.sliding-window-size:50}")
+    private int slidingWindowSize = 50;
+
+    @Value("${javaee.circuit.minimum-calls:20}")
+    private int minimumCalls = 20;
+
+    @Value("${javaee.circuit.open-duration-ms:10000}")
+    private long openDurationMs = 10000;
+
+    @Value("${javaee.circuit.half-open-calls:5}")
+    private int halfOpenCalls = 5;
+
+    @Value("${javaee.bulkhead.max-concurrent:50}")
+    private int bulkheadMaxConcurrent = 50;
+
+    @Value("${javaee.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs = 100;
+
+    @Value("${javaee.graphql.persisted-queries:true}")
+    private boolean persistedQueries = true;
+
+    // Query text to SHA-256; the texts are a fixed set of shapes (one per batch size), so this stays small
+    private final Map<String, String> queryHashes = new ConcurrentHashMap<>();
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private PoolingAsyncClientConnectionManager asyncConnectionManager;
+
+    @PostConstruct
+    public void init() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(socketTimeoutMs))
+                .build();
+        RequestConfig config = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(socketTimeoutMs))
+                .build();
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        // Honour a shorter server Keep-Alive hint, but never keep a connection longer than configured
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            TimeValue serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(serverHint) && serverHint.compareTo(maxKeepAlive) < 0 ? serverHint : maxKeepAlive;
+        };
+
+        // The evictor runs on a background thread and closes expired and idle pooled connections
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(config)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+
+        // Over https HTTP/2 is negotiated via ALPN and HTTP/1.1 used otherwise. ALPN needs TLS, so against a plain
+        // http:// app NEGOTIATE means HTTP/1.1; FORCE_HTTP_2 opens cleartext connections with the h2 preface instead
+        HttpVersionPolicy versionPolicy = asyncH2c ? HttpVersionPolicy.FORCE_HTTP_2 : HttpVersionPolicy.NEGOTIATE;
+        this.asyncConnectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(asyncMaxTotal)
+                .setMaxConnPerRoute(asyncMaxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(versionPolicy)
+                        .build())
+                .build();
+        this.asyncHttpClient = HttpAsyncClients.custom()
+                .setConnectionManager(asyncConnectionManager)
+                .setDefaultRequestConfig(config)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+        this.asyncHttpClient.start();
+        logger.info("JavaEE HTTP pool: max {} total / {} per route, connect {} ms, socket {} ms, keep-alive {} s",
+                maxTotal, maxPerRoute, connectTimeoutMs, socketTimeoutMs, keepAliveSeconds);
+
+        this.circuitBreaker = new CircuitBreaker("javaee-graphql", failureRateThreshold, slowCallRateThreshold,
+                slowCallDurationMs, slidingWindowSize, minimumCalls, openDurationMs, halfOpenCalls);
+        this.bulkhead = new Bulkhead(bulkheadMaxConcurrent, bulkheadMaxWaitMs);
+        logger.info("JavaEE circuit breaker: opens at {}% failures or {}% calls over {} ms in the last {} calls, "
+                        + "open {} ms; bulkhead {} concurrent calls", failureRateThreshold, slowCallRateThreshold,
+                slowCallDurationMs, slidingWindowSize, openDurationMs, bulkheadMaxConcurrent);
+
+        // Configuration for Docker environment URL
+        String envUrl = System.getenv("JAVAEE_APP_URL");
+        if (envUrl != null && !envUrl.isEmpty()) {
+            javaEEAppUrl = envUrl;
+        }
+        logger.info("JavaEE App URL configured as: {}", javaEEAppUrl);
+    }
+
+    /**
+     * @throws CallNotPermittedException while the circuit is open
+     * @throws BulkheadFullException     when no call slot frees up within {@code javaee.bulkhead.max-wait-ms}
+     */
+    public JsonNode execute(Map<String, Object> queryMap, String description) {
+        String url = graphQLUrl();
+        logger.info("Executing GraphQL query\n'{}'\n url '{}'", queryMap.get("query"), url);
+
+        acquireCallPermission(description);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            GraphQLResponse response = post(url, firstRequest(queryMap));
+            if (persistedQueries && isPersistedQueryNotFound(response.statusCode(), response.body())) {
+                logger.debug("JavaEE app does not know the query for {} yet, sending its text", description);
+                response = post(url, withQueryText(queryMap));
+            }
+            int statusCode = response.statusCode();
+            if (statusCode == 200) {
+                logger.info("JavaEE GraphQL response code is 200");
+                JsonNode data = readData(response.body());
+                failed = false;
+                return data;
+            } else {
+                failed = statusCode >= 500;
+                handleErrorResponse(statusCode, url);
+            }
+        } catch (IOException e) {
+            logger.error("Error fetching book from JavaEE app: {}", description, e);
+        } finally {
+            circuitBreaker.onResult(System.nanoTime() - start, failed);
+            bulkhead.release();
+        }
+        return null;
+    }
+
+    private record GraphQLResponse(int statusCode, String body) {
+    }
+
+    private GraphQLResponse post(String url, String body) throws IOException {
+        HttpPost request = new HttpPost(url);
+        request.setHeader("Content-Type", "application/json");
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return httpClient.execute(request, response -> {
+            HttpEntity entity = response.getEntity();
+            return new GraphQLResponse(response.getCode(), entity != null ? EntityUtils.toString(entity) : null);
+        });
+    }
+
+    private void acquireCallPermission(String description) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CallNotPermittedException("JavaEE app circuit is open, not fetching " + description);
+        }
+        try {
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                throw new BulkheadFullException("Too many concurrent JavaEE app calls, not fetching " + description);
+            }
+        } catch (InterruptedException e) {
+            circuitBreaker.releasePermission();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a JavaEE app call slot", e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}. No thread waits for the response; the future completes
+     * on the client's I/O reactor, or exceptionally with a {@link java.util.concurrent.TimeoutException}
+     * once the request deadline passes, in which case the exchange is cancelled. It never waits for a bulkhead
+     * slot: an open circuit or a full bulkhead returns an already failed future.
+     */
+    public CompletableFuture<JsonNode> executeAsync(Map<String, Object> queryMap, String description) {
+        String url = graphQLUrl();
+        logger.debug("Executing async GraphQL query for {}", description);
+
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                    new CallNotPermittedException("JavaEE app circuit is open, not fetching " + description));
+        }
+        if (!bulkhead.tryAcquireNow()) {
+            circuitBreaker.releasePermission();
+            return CompletableFuture.failedFuture(
+                    new BulkheadFullException("Too many concurrent JavaEE app calls, not fetching " + description));
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean serverError = new AtomicBoolean();
+        // The exchange in flight, cancelled when the deadline passes
+        AtomicReference<Future<SimpleHttpResponse>> exchange = new AtomicReference<>();
+        CompletableFuture<SimpleHttpResponse> response;
+        try {
+            response = postAsync(url, firstRequest(queryMap), exchange, description);
+        } catch (RuntimeException e) {
+            circuitBreaker.onResult(System.nanoTime() - start, true);
+            bulkhead.release();
+            throw e;
+        }
+        if (persistedQueries) {
+            response = response.thenCompose(first -> {
+                if (!isPersistedQueryNotFound(first.getCode(), first.getBodyText())) {
+                    return CompletableFuture.completedFuture(first);
+                }
+                logger.debug("JavaEE app does not know the query for {} yet, sending its text", description);
+                return postAsync(url, withQueryText(queryMap), exchange, description);
+            });
+        }
+
+        return response.thenApply(completed -> {
+                    serverError.set(completed.getCode() >= 500);
+                    if (completed.getCode() != 200) {
+                        handleErrorResponse(completed.getCode(), url);
+                        return (JsonNode) null;
+                    }
+                    try {
+                        return readData(completed.getBodyText());
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .orTimeout(requestDeadlineMs, TimeUnit.MILLISECONDS)
+                .whenComplete((data, e) -> {
+                    if (e != null) {
+                        exchange.get().cancel(true);
+                    }
+                    circuitBreaker.onResult(System.nanoTime() - start, e != null || serverError.get());
+                    bulkhead.release();
+                });
+    }
+
+    private CompletableFuture<SimpleHttpResponse> postAsync(String url, String body,
+            AtomicReference<Future<SimpleHttpResponse>> exchange, String description) {
+        SimpleHttpRequest request = SimpleRequestBuilder.post(url)
+                .setBody(body, ContentType.APPLICATION_JSON)
+                .build();
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        exchange.set(asyncHttpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                logger.error("Error fetching book from JavaEE app: {}", description, e);
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Circuit breaker state, failure and slow-call rates, rejected calls and state transitions, plus bulkhead
+     * occupancy for the JavaEE app.
+     */
+    public Map<String, Object> getResilienceStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        stats.put("bulkhead", bulkhead.getStats());
+        return stats;
+    }
+
+    /**
+     * Leased, pending (waiting for a connection) and available counts for both connection pools.
+     */
+    public Map<String, Object> getPoolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("classic", toMap(connectionManager.getTotalStats()));
+        stats.put("async", toMap(asyncConnectionManager.getTotalStats()));
+        return stats;
+    }
+
+    private static Map<String, Object> toMap(PoolStats poolStats) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leased", poolStats.getLeased());
+        stats.put("pending", poolStats.getPending());
+        stats.put("available", poolStats.getAvailable());
+        stats.put("max", poolStats.getMax());
+        return stats;
+    }
+
+    private String graphQLUrl() {
+        return javaEEAppUrl + "/javaee-graphql-project/graphql"; // http://docker-container/context-project/graphql
+    }
+
+    /**
+     * The request body as first sent: just the hash of the query with persisted queries on, the full query otherwise.
+     */
+    private String firstRequest(Map<String, Object> queryMap) {
+        if (!persistedQueries) {
+            return toJson(queryMap);
+        }
+        Map<String, Object> hashOnly = new HashMap<>(queryMap);
+        String query = (String) hashOnly.remove("query");
+        hashOnly.put("extensions", persistedQueryExtension(query));
+        return toJson(hashOnly);
+    }
+
+    private String withQueryText(Map<String, Object> queryMap) {
+        Map<String, Object> registration = new HashMap<>(queryMap);
+        registration.put("extensions", persistedQueryExtension((String) queryMap.get("query")));
+        return toJson(registration);
+    }
+
+    private Map<String, Object> persistedQueryExtension(String query) {
+        String hash = queryHashes.computeIfAbsent(query, JavaEEGraphQLClient::sha256);
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private boolean isPersistedQueryNotFound(int statusCode, String responseBody) {
+        // Cheap check first, so regular responses are not parsed twice
+        if (statusCode != 200 || responseBody == null || !responseBody.contains("PersistedQueryNotFound")) {
+            return false;
+        }
+        try {
+            for (JsonNode error : objectMapper.readTree(responseBody).path("errors")) {
+                if ("PersistedQueryNotFound".equals(error.path("message").asText())) {
+                    return true;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Not JSON; readData reports it
+        }
+        return false;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String toJson(Map<String, Object> queryMap) {
+        try {
+            return objectMapper.writeValueAsString(queryMap);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to cook GraphQL request json query with {}", e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    private JsonNode readData(String responseBody) throws IOException {
+        if (responseBody == null) {
+            return null;
+        }
+        logger.info("Successfully fetched book from JavaEE app via GraphQL.");
+        // Parse the GraphQL response
+        JsonNode root = objectMapper.readTree(responseBody);
+        if (root.has("errors")) {
+            logger.error("GraphQL errors: {}", root.get("errors").toString());
+            // Aliased queries can fail for some ids and still resolve the others
+            return root.hasNonNull("data") ? root.get("data") : null;
+        }
+        return root.path("data");
+    }
+
+    private void handleErrorResponse(int statusCode, String url) {
+        if (statusCode == 404) {
+            logger.info("Book not found in JavaEE app: {}", url);
+        } else {
+            logger.warn("Failed to fetch book from JavaEE app. Status: {}, URL: {}", statusCode, url);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+}
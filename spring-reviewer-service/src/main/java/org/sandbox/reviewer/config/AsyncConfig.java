@@ -0,0 +1,72 @@
+package org.sandbox.reviewer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Value("${reviewer.executor.pool-size:16}")
+    private int poolSize;
+
+    @Value("${reviewer.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${reviewer.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${reviewer.virtual-threads.max-concurrency:1000}")
+    private int virtualThreadMaxConcurrency = 1000;
+
+    /**
+     * Executor for the blocking Mongo reads that async controller methods compose with the non-blocking book
+     * lookup, for {@code Callable}/{@code StreamingResponseBody} request processing and for {@code @Async} methods.
+     * <p>
+     * By default a bounded platform-thread pool. With {@code reviewer.virtual-threads.enabled} on JDK 21+ each task
+     * gets its own virtual thread instead, so blocked tasks no longer hold a scarce thread; concurrency is then
+     * bounded by {@code max-concurrency} and, below it, by the Mongo and HTTP connection pools. Either way work over
+     * the limit is rejected rather than piling up.
+     */
+    @Bean
+    public AsyncTaskExecutor reviewQueryExecutor() {
+        if (virtualThreads) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("review-query-vt-");
+                executor.setVirtualThreads(true);
+                executor.setConcurrencyLimit(virtualThreadMaxConcurrency);
+                executor.setRejectTasksWhenLimitReached(true);
+                executor.setTaskTerminationTimeout(10_000);
+                log.info("Review query executor: virtual threads, max concurrency {}", virtualThreadMaxConcurrency);
+                return executor;
+            }
+            log.warn("reviewer.virtual-threads.enabled needs JDK 21+, running on {}; using the platform thread pool",
+                    Runtime.version());
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("review-query-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return reviewQueryExecutor();
+    }
+}
@@ -0,0 +1,62 @@
+package org.sandbox.reviewer.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.sandbox.reviewer.model.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Value("${book.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${book.cache.local.ttl-seconds:300}")
+    private long localTtlSeconds;
+
+    @Value("${book.cache.redis.ttl-seconds:3600}")
+    private long redisTtlSeconds;
+
+    @Value("${book.cache.missing.ttl-seconds:60}")
+    private long missingTtlSeconds;
+
+    /**
+     * L1 cache for books, checked before Redis. Caffeine uses W-TinyLFU admission, so one-off lookups
+     * do not push the hot books out. The TTL must stay below the Redis TTL: other instances only
+     * invalidate Redis, and the local copy has to age out before the shared one does.
+     */
+    @Bean
+    public Cache<String, Book> bookNearCache() {
+        long ttlSeconds = localTtlSeconds;
+        if (ttlSeconds >= redisTtlSeconds) {
+            ttlSeconds = Math.max(1, redisTtlSeconds / 2);
+            log.warn("Local book cache TTL {}s is not shorter than Redis TTL {}s, using {}s",
+                    localTtlSeconds, redisTtlSeconds, ttlSeconds);
+        }
+        log.info("Local book cache: max size {}, TTL {}s", localMaxSize, ttlSeconds);
+        return Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Local tombstones for book ids the JavaEE app does not know, kept as long as the Redis tombstone.
+     */
+    @Bean
+    public Cache<String, Boolean> missingBookNearCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(0, missingTtlSeconds)))
+                .build();
+    }
+}
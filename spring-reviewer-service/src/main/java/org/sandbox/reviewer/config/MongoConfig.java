@@ -1,18 +1,25 @@
 package org.sandbox.reviewer.config;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.MongoCredential;
+import com.mongodb.ReadPreference;
 import com.mongodb.ServerAddress;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import org.sandbox.reviewer.config.mongo.MongoPoolMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class MongoConfig {
@@ -33,22 +40,98 @@ public class MongoConfig {
     @Value("${mongodb.password}")
     private String password;
 
+    @Value("${mongodb.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${mongodb.pool.min-size:0}")
+    private int poolMinSize;
+
+    @Value("${mongodb.pool.max-wait-ms:2000}")
+    private long poolMaxWaitMs;
+
+    @Value("${mongodb.pool.max-connection-idle-ms:60000}")
+    private long poolMaxConnectionIdleMs;
+
+    @Value("${mongodb.compressors:zstd,snappy}")
+    private String compressors;
+
+    @Value("${mongodb.server-selection-timeout-ms:5000}")
+    private long serverSelectionTimeoutMs;
+
+    @Value("${mongodb.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${mongodb.read-preference:primary}")
+    private String readPreference;
+
     @Bean
-    public MongoClient mongoClient() {
-        log.info("Mongo credentials: {} {} {} {} {}", host, port, database, username, password);
+    public MongoPoolMetrics mongoPoolMetrics() {
+        return new MongoPoolMetrics();
+    }
+
+    /**
+     * Shared by the blocking and the reactive client; each keeps its own pool of up to {@code mongodb.pool.max-size}
+     * connections, which is what bounds reactive concurrency.
+     */
+    @Bean
+    public MongoClientSettings mongoClientSettings() {
+        log.info("Mongo connection: {}:{}/{} as {}, pool {}-{} (wait {} ms, idle {} ms), compressors [{}], read preference {}",
+                host, port, database, username, poolMinSize, poolMaxSize, poolMaxWaitMs, poolMaxConnectionIdleMs,
+                compressors, readPreference);
         MongoCredential credential = MongoCredential.createScramSha1Credential(username, database, password.toCharArray());
 
         // Setting up the MongoClient settings
-        MongoClientSettings settings = MongoClientSettings.builder()
-                .applyToClusterSettings(builder -> builder.hosts(Collections.singletonList(new ServerAddress(host, port))))
+        return MongoClientSettings.builder()
+                .applyToClusterSettings(builder -> builder
+                        .hosts(Collections.singletonList(new ServerAddress(host, port)))
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(builder -> builder
+                        .maxSize(poolMaxSize)
+                        .minSize(poolMinSize)
+                        .maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(poolMaxConnectionIdleMs, TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(mongoPoolMetrics()))
+                .applyToSocketSettings(builder -> builder.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS))
+                .compressorList(compressorList(compressors))
+                .readPreference(ReadPreference.valueOf(readPreference))
                 .credential(credential)
                 .build();
+    }
 
-        return MongoClients.create(settings);
+    @Bean
+    public MongoClient mongoClient() {
+        return MongoClients.create(mongoClientSettings());
+    }
+
+    @Bean
+    public com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient() {
+        return com.mongodb.reactivestreams.client.MongoClients.create(mongoClientSettings());
+    }
+
+    /**
+     * Wire compressors in order of preference; the server picks the first one it also supports.
+     */
+    static List<MongoCompressor> compressorList(String names) {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String name : names.split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "" -> { }
+                case "zstd" -> result.add(MongoCompressor.createZstdCompressor());
+                case "snappy" -> result.add(MongoCompressor.createSnappyCompressor());
+                case "zlib" -> result.add(MongoCompressor.createZlibCompressor());
+                default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+            }
+        }
+        return result;
     }
 
     @Bean
     public MongoTemplate mongoTemplate() {
         return new MongoTemplate(mongoClient(), database);
     }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate() {
+        return new ReactiveMongoTemplate(reactiveMongoClient(), database);
+    }
 }
@@ -1,21 +1,38 @@
 package org.sandbox.reviewer.config;
 
+import org.sandbox.reviewer.config.redis.BookRedisSerializer;
+import org.sandbox.reviewer.config.redis.TombstoneRedisSerializer;
+import org.sandbox.reviewer.model.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 @Configuration
 public class RedisConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(RedisConfig.class);
+
     @Value("${redis.host}")
     private String host;
 
     @Value("${redis.port:6379}")
     private int port;
 
+    // binary | json | jdk
+    @Value("${book.cache.redis.serializer:binary}")
+    private String valueSerializer;
+
+    @Value("${book.cache.redis.compression-threshold:512}")
+    private int compressionThreshold;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(host, port);
@@ -25,6 +42,19 @@ public class RedisConfig {
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new TombstoneRedisSerializer(bookValueSerializer()));
         return template;
     }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> bookValueSerializer() {
+        log.info("Redis book value serializer: {}", valueSerializer);
+        return (RedisSerializer<Object>) switch (valueSerializer) {
+            case "binary" -> new BookRedisSerializer(compressionThreshold);
+            case "json" -> new JacksonJsonRedisSerializer<>(Book.class);
+            case "jdk" -> new JdkSerializationRedisSerializer();
+            default -> throw new IllegalArgumentException("Unknown Redis value serializer: " + valueSerializer);
+        };
+    }
 }
@@ -0,0 +1,97 @@
+package org.sandbox.reviewer.config.mongo;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClearedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool counters for all servers the client talks to: how long checkouts take, how many operations
+ * are waiting for a connection right now, and how many connections are open and in use.
+ */
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    private final AtomicInteger waitQueueSize = new AtomicInteger();
+    private final LongAccumulator maxWaitQueueSize = new LongAccumulator(Long::max, 0);
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger open = new AtomicInteger();
+
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder checkoutMicros = new LongAdder();
+    private final LongAccumulator maxCheckoutMicros = new LongAccumulator(Long::max, 0);
+    private final LongAdder checkoutTimeouts = new LongAdder();
+    private final LongAdder checkoutFailures = new LongAdder();
+    private final LongAdder poolClears = new LongAdder();
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        maxWaitQueueSize.accumulate(waitQueueSize.incrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkedOut.incrementAndGet();
+        long micros = event.getElapsedTime(TimeUnit.MICROSECONDS);
+        checkouts.increment();
+        checkoutMicros.add(micros);
+        maxCheckoutMicros.accumulate(micros);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waitQueueSize.decrementAndGet();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            checkoutTimeouts.increment();
+        } else {
+            checkoutFailures.increment();
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+
+    @Override
+    public void connectionPoolCleared(ConnectionPoolClearedEvent event) {
+        poolClears.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = checkouts.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("open", open.get());
+        stats.put("checkedOut", checkedOut.get());
+        stats.put("waitQueueSize", waitQueueSize.get());
+        stats.put("maxWaitQueueSize", maxWaitQueueSize.get());
+        stats.put("checkouts", count);
+        stats.put("avgCheckoutMs", count == 0 ? 0.0 : checkoutMicros.sum() / (count * 1000.0));
+        stats.put("maxCheckoutMs", maxCheckoutMicros.get() / 1000.0);
+        stats.put("checkoutTimeouts", checkoutTimeouts.sum());
+        stats.put("checkoutFailures", checkoutFailures.sum());
+        stats.put("poolClears", poolClears.sum());
+        return stats;
+    }
+}
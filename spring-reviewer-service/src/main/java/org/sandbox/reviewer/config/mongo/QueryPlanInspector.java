@@ -0,0 +1,54 @@
+package org.sandbox.reviewer.config.mongo;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the output of a MongoDB {@code explain} and reports the stages of the winning plan.
+ */
+public final class QueryPlanInspector {
+
+    static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private QueryPlanInspector() {
+    }
+
+    /**
+     * Stage names of the winning plan, outermost first. Handles both the classic planner output
+     * ({@code queryPlanner.winningPlan}) and the slot-based engine's ({@code winningPlan.queryPlan}).
+     */
+    public static List<String> winningPlanStages(Document explain) {
+        List<String> stages = new ArrayList<>();
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        if (queryPlanner == null) {
+            return stages;
+        }
+        Document plan = queryPlanner.get("winningPlan", Document.class);
+        if (plan != null && plan.containsKey("queryPlan")) {
+            plan = plan.get("queryPlan", Document.class);
+        }
+        collectStages(plan, stages);
+        return stages;
+    }
+
+    public static boolean isCollectionScan(Document explain) {
+        return winningPlanStages(explain).contains(COLLECTION_SCAN);
+    }
+
+    private static void collectStages(Document stage, List<String> stages) {
+        if (stage == null) {
+            return;
+        }
+        String name = stage.getString("stage");
+        if (name != null) {
+            stages.add(name);
+        }
+        collectStages(stage.get("inputStage", Document.class), stages);
+        List<Document> inputStages = stage.getList("inputStages", Document.class);
+        if (inputStages != null) {
+            inputStages.forEach(input -> collectStages(input, stages));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.sandbox.reviewer.config.mongo;
+
+import jakarta.annotation.PostConstruct;
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.service.RatingSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills {@code book_rating_summary} from the reviews collection when the application starts with reviews but
+ * no summaries yet, e.g. the first start after upgrading, so rating stats are not all zero until someone calls
+ * the rebuild endpoint.
+ */
+@Component
+public class RatingSummaryInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingSummaryInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Value("${reviewer.rating-summary.backfill-on-startup:true}")
+    private boolean backfillOnStartup = true;
+
+    @PostConstruct
+    public void init() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            backfillIfEmpty();
+        } catch (Exception e) {
+            // Stats read as zero until POST /api/admin/rating-summaries/rebuild; don't keep the app from starting
+            log.error("Could not backfill rating summaries", e);
+        }
+    }
+
+    /**
+     * Runs before the context serves requests, so no rating increments race with the rebuild.
+     *
+     * @return number of summaries written, 0 if there was nothing to backfill
+     */
+    public long backfillIfEmpty() {
+        if (mongoTemplate.estimatedCount(BookRatingSummary.class) > 0
+                || !mongoTemplate.exists(new Query(), Review.class)) {
+            return 0;
+        }
+        log.info("No rating summaries found, rebuilding them from the reviews collection");
+        return ratingSummaryService.rebuildAll();
+    }
+}
@@ -0,0 +1,88 @@
+package org.sandbox.reviewer.config.mongo;
+
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.sandbox.reviewer.model.Review;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the indexes declared on {@link Review} when the application starts, then explains the query shapes
+ * the service issues and warns about any that would still scan the whole collection.
+ */
+@Component
+public class ReviewIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewIndexInitializer.class);
+    private static final Document NEWEST_FIRST = new Document("timestamp", -1).append("_id", -1);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.index.check-query-plans:true}")
+    private boolean checkQueryPlans = true;
+
+    @PostConstruct
+    public void init() {
+        try {
+            ensureIndexes();
+            if (checkQueryPlans) {
+                checkQueryPlans();
+            }
+        } catch (Exception e) {
+            // Reads and writes still work without the indexes, just slower; don't keep the app from starting
+            log.error("Could not provision indexes for the reviews collection", e);
+        }
+    }
+
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Review.class);
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (IndexDefinition index : resolver.resolveIndexFor(Review.class)) {
+            String name = indexOps.createIndex(index);
+            log.info("Ensured index {} {} on {}", name, index.getIndexKeys().toJson(),
+                    mongoTemplate.getCollectionName(Review.class));
+        }
+    }
+
+    /**
+     * @return the shapes whose winning plan is a collection scan
+     */
+    public Map<String, Document> checkQueryPlans() {
+        Map<String, Document> collectionScans = new LinkedHashMap<>();
+        queryShapes().forEach((shape, query) -> {
+            Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Review.class))
+                    .find(query.get("filter", Document.class))
+                    .sort(query.get("sort", Document.class))
+                    .limit(1)
+                    .explain();
+            if (QueryPlanInspector.isCollectionScan(explain)) {
+                log.warn("Query shape '{}' runs as a collection scan: {} stages {}", shape, query.toJson(),
+                        QueryPlanInspector.winningPlanStages(explain));
+                collectionScans.put(shape, query);
+            }
+        });
+        return collectionScans;
+    }
+
+    static Map<String, Document> queryShapes() {
+        Map<String, Document> shapes = new LinkedHashMap<>();
+        shapes.put("reviews of a book, newest first",
+                new Document("filter", new Document("bookId", "")).append("sort", NEWEST_FIRST));
+        shapes.put("all reviews, newest first",
+                new Document("filter", new Document()).append("sort", NEWEST_FIRST));
+        shapes.put("reviews by reviewer",
+                new Document("filter", new Document("reviewerName", "")).append("sort", new Document()));
+        return shapes;
+    }
+}
@@ -0,0 +1,217 @@
+package org.sandbox.reviewer.config.redis;
+
+import org.sandbox.reviewer.model.Book;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary value serializer for cached {@link Book}s.
+ * <p>
+ * Layout: {@code [version][flags][body]}, where the body holds a field-presence byte, the id as an
+ * unsigned varint, title and author as length-prefixed UTF-8 and the year as a zig-zag varint.
+ * Bodies above the compression threshold are deflated when that actually makes them smaller.
+ * <p>
+ * Any other value type is written with JDK serialization, and JDK payloads (stream magic
+ * {@code 0xACED}) are still readable, so entries cached before the switch keep working.
+ */
+public class BookRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION = 1;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte FIELD_ID = 0x01;
+    private static final byte FIELD_TITLE = 0x02;
+    private static final byte FIELD_AUTHOR = 0x04;
+
+    private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+
+    private final JdkSerializationRedisSerializer fallback = new JdkSerializationRedisSerializer();
+    private final int compressionThreshold;
+
+    public BookRedisSerializer() {
+        this(512);
+    }
+
+    /**
+     * @param compressionThreshold body size in bytes from which compression is attempted; 0 or less disables it
+     */
+    public BookRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!(value instanceof Book book)) {
+            return fallback.serialize(value);
+        }
+
+        byte[] body = writeBook(book);
+        byte flags = 0;
+        if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+            byte[] compressed = deflate(body);
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+
+        byte[] bytes = new byte[body.length + 2];
+        bytes[0] = VERSION;
+        bytes[1] = flags;
+        System.arraycopy(body, 0, bytes, 2, body.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == JDK_STREAM_MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes[0] != VERSION || bytes.length < 2) {
+            throw new SerializationException("Unsupported book payload version: " + bytes[0]);
+        }
+
+        ByteBuffer body = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        if ((bytes[1] & FLAG_COMPRESSED) != 0) {
+            body = ByteBuffer.wrap(inflate(bytes, 2, bytes.length - 2));
+        }
+        try {
+            return readBook(body);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Corrupt book payload", e);
+        }
+    }
+
+    private static byte[] writeBook(Book book) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        byte fields = 0;
+        if (book.getId() != null) {
+            fields |= FIELD_ID;
+        }
+        if (book.getTitle() != null) {
+            fields |= FIELD_TITLE;
+        }
+        if (book.getAuthor() != null) {
+            fields |= FIELD_AUTHOR;
+        }
+        out.write(fields);
+        if (book.getId() != null) {
+            writeVarLong(out, book.getId());
+        }
+        if (book.getTitle() != null) {
+            writeString(out, book.getTitle());
+        }
+        if (book.getAuthor() != null) {
+            writeString(out, book.getAuthor());
+        }
+        writeVarLong(out, zigZag(book.getYear()));
+        return out.toByteArray();
+    }
+
+    private static Book readBook(ByteBuffer in) {
+        byte fields = in.get();
+        Book book = new Book();
+        if ((fields & FIELD_ID) != 0) {
+            book.setId(readVarLong(in));
+        }
+        if ((fields & FIELD_TITLE) != 0) {
+            book.setTitle(readString(in));
+        }
+        if ((fields & FIELD_AUTHOR) != 0) {
+            book.setAuthor(readString(in));
+        }
+        long year = readVarLong(in);
+        book.setYear((int) ((year >>> 1) ^ -(year & 1)));
+        return book;
+    }
+
+    private static long zigZag(int value) {
+        return ((long) value << 1) ^ ((long) value >> 63);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new SerializationException("Truncated compressed book payload");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed book payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
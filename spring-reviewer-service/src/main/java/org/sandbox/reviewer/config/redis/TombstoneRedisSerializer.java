@@ -0,0 +1,37 @@
+package org.sandbox.reviewer.config.redis;
+
+import org.sandbox.reviewer.model.BookTombstone;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Writes {@link BookTombstone} as a single zero byte and delegates every other value. No book format starts
+ * with {@code 0x00} (binary starts with its version, JDK serialization with {@code 0xAC}, JSON with a
+ * character), so the marker works the same whichever value serializer is configured.
+ */
+public class TombstoneRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] TOMBSTONE = {0};
+
+    private final RedisSerializer<Object> delegate;
+
+    public TombstoneRedisSerializer(RedisSerializer<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == BookTombstone.INSTANCE) {
+            return TOMBSTONE.clone();
+        }
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null && bytes.length == 1 && bytes[0] == TOMBSTONE[0]) {
+            return BookTombstone.INSTANCE;
+        }
+        return delegate.deserialize(bytes);
+    }
+}
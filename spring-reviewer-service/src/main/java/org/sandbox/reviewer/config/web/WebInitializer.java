@@ -17,13 +17,15 @@ public class WebInitializer implements WebApplicationInitializer {
         // Register the root context as a listener
         container.addListener(new ContextLoaderListener(rootContext));
 
-        // Create the dispatcher servlet context
+        // Create the dispatcher servlet context. It registers nothing itself: WebConfig scans every bean, so
+        // registering it here too would create a second copy of each singleton (pools, write-behind journal, ...).
+        // The dispatcher finds the MVC infrastructure and controllers in the root context, its parent.
         AnnotationConfigWebApplicationContext dispatcherContext = new AnnotationConfigWebApplicationContext();
-        dispatcherContext.register(WebConfig.class);
 
         // Register and configure the dispatcher servlet
         ServletRegistration.Dynamic dispatcher = container.addServlet("dispatcher", new DispatcherServlet(dispatcherContext));
         dispatcher.setLoadOnStartup(1);
+        dispatcher.setAsyncSupported(true);
         dispatcher.addMapping("/");
     }
 }
@@ -0,0 +1,75 @@
+package org.sandbox.reviewer.controller;
+
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.RatingSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private BookService bookService;
+
+    @PostMapping("/rating-summaries/rebuild")
+    public ResponseEntity<?> rebuildRatingSummaries() {
+        try {
+            long rebuilt = ratingSummaryService.rebuildAll();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("rebuilt", rebuilt);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error rebuilding rating summaries", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error rebuilding rating summaries: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/rating-summaries/{bookId}/rebuild")
+    public ResponseEntity<?> rebuildRatingSummary(@PathVariable String bookId) {
+        try {
+            RatingStats stats = ratingSummaryService.rebuild(bookId);
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            logger.error("Error rebuilding rating summary for book: {}", bookId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error rebuilding rating summary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the cached copy of a book, or its not-found tombstone; call it when a book is created or changed.
+     */
+    @DeleteMapping("/book-cache/{bookId}")
+    public ResponseEntity<?> invalidateBookCache(@PathVariable String bookId) {
+        try {
+            bookService.invalidateBookCache(bookId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error invalidating cache for book: {}", bookId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error invalidating book cache: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.sandbox.reviewer.controller;
+
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.service.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/books")
+public class BookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookController.class);
+    private static final int MAX_BATCH_SIZE = 100;
+
+    @Autowired
+    private BookService bookService;
+
+    @GetMapping
+    public ResponseEntity<?> getBooksByIds(@RequestParam List<String> ids) {
+        try {
+            if (ids.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body("At least one book ID is required");
+            }
+            if (ids.size() > MAX_BATCH_SIZE) {
+                return ResponseEntity.badRequest()
+                        .body("At most " + MAX_BATCH_SIZE + " book IDs can be requested at once");
+            }
+
+            Map<String, Book> books = bookService.getBooksByIds(ids);
+            List<String> missing = ids.stream()
+                    .filter(id -> !books.containsKey(id))
+                    .distinct()
+                    .toList();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("books", books);
+            response.put("missing", missing);
+
+            logger.info("Retrieved {} of {} requested books", books.size(), ids.size());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cannot fetch uncached books {}: {}", ids, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Book service unavailable: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error getting books: {}", ids, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error getting books: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.sandbox.reviewer.controller;
+
+import org.sandbox.reviewer.client.JavaEEGraphQLClient;
+import org.sandbox.reviewer.config.mongo.MongoPoolMetrics;
+import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.WriteBehindReviewWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JavaEEGraphQLClient graphQLClient;
+
+    @Autowired
+    private WriteBehindReviewWriter writeBehindWriter;
+
+    @Autowired
+    private MongoPoolMetrics mongoPoolMetrics;
+
+    @GetMapping("/book-cache")
+    public ResponseEntity<Map<String, Object>> getBookCacheStats() {
+        return ResponseEntity.ok(bookService.getCacheStats());
+    }
+
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> getHttpPoolStats() {
+        return ResponseEntity.ok(graphQLClient.getPoolStats());
+    }
+
+    @GetMapping("/javaee-circuit")
+    public ResponseEntity<Map<String, Object>> getJavaEECircuitStats() {
+        return ResponseEntity.ok(graphQLClient.getResilienceStats());
+    }
+
+    @GetMapping("/mongo-pool")
+    public ResponseEntity<Map<String, Object>> getMongoPoolStats() {
+        return ResponseEntity.ok(mongoPoolMetrics.getStats());
+    }
+
+    @GetMapping("/write-behind")
+    public ResponseEntity<Map<String, Object>> getWriteBehindStats() {
+        return ResponseEntity.ok(writeBehindWriter.getStats());
+    }
+}
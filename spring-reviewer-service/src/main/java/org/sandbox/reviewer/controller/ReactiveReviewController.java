@@ -0,0 +1,114 @@
+package org.sandbox.reviewer.controller;
+
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.ReactiveReviewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive variants of the review reads. The servlet thread is released as soon as the pipeline is assembled;
+ * results are written when Mongo (and the book lookup) deliver them.
+ */
+@RestController
+@RequestMapping("/api/reactive/reviews")
+public class ReactiveReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReviewController.class);
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
+    @Autowired
+    private ReactiveReviewService reactiveReviewService;
+
+    @Autowired
+    private BookService bookService;
+
+    /**
+     * Streams all reviews of a book as newline-delimited JSON with back-pressure from the client connection.
+     * Does not check that the book exists; an unknown book streams nothing.
+     */
+    @GetMapping(value = "/book/{bookId}", produces = "application/x-ndjson")
+    public Flux<Review> streamReviewsByBookId(@PathVariable String bookId) {
+        return reactiveReviewService.streamReviewsByBookId(bookId);
+    }
+
+    @GetMapping("/book/{bookId}/page")
+    public Mono<ResponseEntity<?>> getReviewsPageByBookId(@PathVariable String bookId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return Mono.defer(() -> {
+                    Mono<ReviewPage> page = reactiveReviewService.getReviewsPageByBookId(bookId, cursor, limit);
+                    Mono<RatingStats> ratingStats = reactiveReviewService.getRatingStatsForBook(bookId);
+                    return findBook(bookId)
+                            .flatMap(book -> Mono.zip(page, ratingStats))
+                            .<ResponseEntity<?>>map(result -> {
+                                Map<String, Object> response = new HashMap<>();
+                                response.put("bookId", bookId);
+                                response.put("reviews", result.getT1().getReviews());
+                                response.put("nextCursor", result.getT1().getNextCursor());
+                                response.put("averageRating", result.getT2().getAverage());
+                                response.put("ratingHistogram", result.getT2().getHistogram());
+                                return ResponseEntity.ok(response);
+                            })
+                            .switchIfEmpty(Mono.fromSupplier(() -> bookNotFound(bookId)));
+                })
+                .onErrorResume(e -> Mono.just(error("Error getting reviews", bookId, e)));
+    }
+
+    @GetMapping("/book/{bookId}/average-rating")
+    public Mono<ResponseEntity<?>> getAverageRatingForBook(@PathVariable String bookId) {
+        return Mono.defer(() -> findBook(bookId)
+                        .flatMap(book -> reactiveReviewService.getRatingStatsForBook(bookId))
+                        .<ResponseEntity<?>>map(ratingStats -> {
+                            Map<String, Object> response = new HashMap<>();
+                            response.put("bookId", bookId);
+                            response.put("averageRating", ratingStats.getAverage());
+                            response.put("reviewCount", ratingStats.getCount());
+                            response.put("ratingHistogram", ratingStats.getHistogram());
+                            return ResponseEntity.ok(response);
+                        })
+                        .switchIfEmpty(Mono.fromSupplier(() -> bookNotFound(bookId))))
+                .onErrorResume(e -> Mono.just(error("Error getting average rating", bookId, e)));
+    }
+
+    private Mono<Book> findBook(String bookId) {
+        // Completes empty when the book does not exist
+        return Mono.fromFuture(() -> bookService.getBookByIdAsync(bookId));
+    }
+
+    private static ResponseEntity<?> bookNotFound(String bookId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Book with ID " + bookId + " not found");
+    }
+
+    private static ResponseEntity<?> error(String message, String bookId, Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (e instanceof RejectedExecutionException) {
+            logger.warn("{} for book {}: {}", message, bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Service temporarily unavailable: " + e.getMessage());
+        }
+        logger.error("{} for book: {}", message, bookId, e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(message + ": " + e.getMessage());
+    }
+}
@@ -1,25 +1,46 @@
 package org.sandbox.reviewer.controller;
 
+import org.sandbox.reviewer.config.web.WebConfig;
 import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BulkImportResult;
+import org.sandbox.reviewer.model.RatingStats;
 import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.sandbox.reviewer.resilience.BulkheadFullException;
+import org.sandbox.reviewer.resilience.CallNotPermittedException;
 import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.ReviewImportService;
 import org.sandbox.reviewer.service.ReviewService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/reviews")
 public class ReviewController {
     
     private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     
     @Autowired
     private ReviewService reviewService;
@@ -27,6 +48,16 @@ public class ReviewController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    @Qualifier("reviewQueryExecutor")
+    private Executor reviewQueryExecutor;
+
+    @Value("${reviewer.export.timeout-ms:1800000}")
+    private long exportTimeoutMs = 1800000;
+
     @PostMapping("/test/{bookId}")
     public ResponseEntity<?> addReviewTest(@PathVariable String bookId, @RequestBody Review review) {
         return ResponseEntity.ok("Test route, got an id: " + bookId);
@@ -76,6 +107,16 @@ public class ReviewController {
             
             logger.info("Added review for book: {}", bookId);
             return ResponseEntity.ok(savedReview);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            logger.warn("Cannot verify book {} for a new review: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Book service unavailable, retry shortly");
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected review for book {}: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Review intake is saturated, retry shortly");
         } catch (Exception e) {
             logger.error("Error adding review for book: {}", bookId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -83,70 +124,179 @@ public class ReviewController {
         }
     }
     
-    @GetMapping("/book/{bookId}")
-    public ResponseEntity<?> getReviewsByBookId(@PathVariable String bookId) {
+    /**
+     * Imports many reviews in one request; each review carries its own {@code bookId}. Rejected items are
+     * listed by their position in the request body while the rest are stored.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> importReviews(@RequestBody List<Review> reviews) {
         try {
-            // Verify the book exists
-            Book book = bookService.getBookById(bookId);
-            if (book == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("Book with ID " + bookId + " not found");
-            }
-            
-            List<Review> reviews = reviewService.getReviewsByBookId(bookId);
-            double averageRating = reviewService.getAverageRatingForBook(bookId);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("reviews", reviews);
-            response.put("averageRating", averageRating);
-            response.put("bookId", bookId);
-            
-            logger.info("Retrieved {} reviews for book: {}", reviews.size(), bookId);
-            return ResponseEntity.ok(response);
+            BulkImportResult result = reviewImportService.importReviews(reviews);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return unavailable("Cannot verify books for a review import", e);
         } catch (Exception e) {
-            logger.error("Error getting reviews for book: {}", bookId, e);
+            logger.error("Error importing reviews", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error getting reviews: " + e.getMessage());
+                    .body("Error importing reviews: " + e.getMessage());
         }
     }
     
+    /**
+     * Starts the book check, the page query and the rating stats read together: the book lookup is non-blocking
+     * and both Mongo reads run on the query pool, so latency is that of the slowest leg rather than their sum.
+     * A missing book answers 404 and cancels the Mongo reads that have not started yet.
+     */
+    @GetMapping("/book/{bookId}")
+    public CompletableFuture<ResponseEntity<?>> getReviewsByBookId(@PathVariable String bookId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            CompletableFuture<Book> book = bookService.getBookByIdAsync(bookId);
+            CompletableFuture<ReviewPage> page = CompletableFuture.supplyAsync(
+                    () -> reviewService.getReviewsPageByBookId(bookId, cursor, limit), reviewQueryExecutor);
+            CompletableFuture<RatingStats> ratingStats = CompletableFuture.supplyAsync(
+                    () -> reviewService.getRatingStatsForBook(bookId), reviewQueryExecutor);
+            book.whenComplete((found, e) -> {
+                if (found == null) {
+                    // Skips reads still queued; running ones finish, interrupting the driver would close its connection
+                    page.cancel(false);
+                    ratingStats.cancel(false);
+                }
+            });
+
+            return book.thenCompose(found -> {
+                        if (found == null) {
+                            return CompletableFuture.<ResponseEntity<?>>completedFuture(
+                                    ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                            .body("Book with ID " + bookId + " not found"));
+                        }
+                        return page.thenCombine(ratingStats, (reviews, stats) -> {
+                            Map<String, Object> response = new HashMap<>();
+                            response.put("reviews", reviews.getReviews());
+                            response.put("nextCursor", reviews.getNextCursor());
+                            response.put("averageRating", stats.getAverage());
+                            response.put("ratingHistogram", stats.getHistogram());
+                            response.put("bookId", bookId);
+
+                            logger.info("Retrieved {} reviews for book: {}", reviews.getReviews().size(), bookId);
+                            return ResponseEntity.ok(response);
+                        });
+                    })
+                    .exceptionally(e -> reviewsError(bookId, e));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(reviewsError(bookId, e));
+        }
+    }
+
+    private ResponseEntity<?> reviewsError(String bookId, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return unavailable("Error getting reviews for book: " + bookId, cause);
+        }
+        logger.error("Error getting reviews for book: {}", bookId, cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting reviews: " + cause.getMessage());
+    }
+
     @GetMapping("/book/{bookId}/average-rating")
-    public ResponseEntity<?> getAverageRatingForBook(@PathVariable String bookId) {
+    public CompletableFuture<ResponseEntity<?>> getAverageRatingForBook(@PathVariable String bookId) {
         try {
-            // Verify the book exists
-            Book book = bookService.getBookById(bookId);
-            if (book == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("Book with ID " + bookId + " not found");
-            }
-            
-            double averageRating = reviewService.getAverageRatingForBook(bookId);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("bookId", bookId);
-            response.put("averageRating", averageRating);
-            
-            logger.info("Retrieved average rating for book: {} - {}", bookId, averageRating);
-            return ResponseEntity.ok(response);
+            // Verify the book exists without holding the request thread, then read Mongo on the query pool
+            return bookService.getBookByIdAsync(bookId)
+                    .thenCompose(book -> {
+                        if (book == null) {
+                            return CompletableFuture.<ResponseEntity<?>>completedFuture(
+                                    ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                            .body("Book with ID " + bookId + " not found"));
+                        }
+                        return CompletableFuture.supplyAsync(() -> {
+                            RatingStats ratingStats = reviewService.getRatingStatsForBook(bookId);
+
+                            Map<String, Object> response = new HashMap<>();
+                            response.put("bookId", bookId);
+                            response.put("averageRating", ratingStats.getAverage());
+                            response.put("reviewCount", ratingStats.getCount());
+                            response.put("ratingHistogram", ratingStats.getHistogram());
+
+                            logger.info("Retrieved average rating for book: {} - {}", bookId, ratingStats.getAverage());
+                            return ResponseEntity.ok(response);
+                        }, reviewQueryExecutor);
+                    })
+                    .exceptionally(e -> averageRatingError(bookId, e));
         } catch (Exception e) {
-            logger.error("Error getting average rating for book: {}", bookId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error getting average rating: " + e.getMessage());
+            return CompletableFuture.completedFuture(averageRatingError(bookId, e));
         }
     }
-    
+
+    private ResponseEntity<?> averageRatingError(String bookId, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            return unavailable("Error getting average rating for book: " + bookId, cause);
+        }
+        logger.error("Error getting average rating for book: {}", bookId, cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error getting average rating: " + cause.getMessage());
+    }
+
+    /**
+     * 503 for work shed under load: a saturated query pool, or an open circuit or full bulkhead to the JavaEE app.
+     */
+    private static ResponseEntity<?> unavailable(String message, Throwable cause) {
+        logger.warn("{}: {}", message, cause.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service temporarily unavailable: " + cause.getMessage());
+    }
+
     @GetMapping
-    public ResponseEntity<?> getAllReviews() {
+    public ResponseEntity<?> getReviews(@RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            List<Review> reviews = reviewService.getAllReviews();
-            logger.info("Retrieved all reviews, count: {}", reviews.size());
-            return ResponseEntity.ok(reviews);
+            ReviewPage page = reviewService.getReviewsPage(cursor, limit);
+            logger.info("Retrieved reviews page, count: {}", page.getReviews().size());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting all reviews", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Streams every review as newline-delimited JSON, gzip-compressed when {@code gzip=true}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReviews(@RequestParam(defaultValue = "false") boolean gzip,
+                                                               WebRequest request) {
+        // An export outlives the default async timeout used for ordinary requests
+        request.setAttribute(WebConfig.ASYNC_TIMEOUT_ATTRIBUTE, exportTimeoutMs, RequestAttributes.SCOPE_REQUEST);
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(outputStream, 64 * 1024);
+                reviewService.exportReviews(gzipOut);
+                gzipOut.finish();
+            } else {
+                reviewService.exportReviews(outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reviews.ndjson\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @DeleteMapping("/{reviewId}")
     public ResponseEntity<?> deleteReview(@PathVariable String reviewId) {
         try {
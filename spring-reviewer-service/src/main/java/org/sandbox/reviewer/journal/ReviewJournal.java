@@ -0,0 +1,262 @@
+package org.sandbox.reviewer.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size, memory-mapped append log of serialized reviews that have been accepted but not yet written to Mongo.
+ *
+ * <pre>
+ * [long checkpoint] [int length][int crc32][payload] ... [int 0]
+ * </pre>
+ *
+ * The header holds the position of the first record that still has to be flushed. A record becomes visible only
+ * once its length is written, after payload, checksum and the following terminator, so a torn append is ignored
+ * on recovery. When flushed records take up enough of the file, the unflushed tail is copied back to the front.
+ * <p>
+ * Offsets handed out by {@link #append} and accepted by {@link #checkpoint} are logical: they keep growing across
+ * compactions, so callers never see records move.
+ * <p>
+ * The file is locked exclusively while the journal is open, so a second writer, in this JVM or another one,
+ * fails on open instead of corrupting it.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than the object monitor, so a virtual thread waiting for space
+ * (JDK 21) unmounts instead of pinning its carrier thread.
+ */
+public class ReviewJournal implements Closeable {
+
+    private static final int HEADER_SIZE = Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int TERMINATOR_SIZE = Integer.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean forceOnAppend;
+
+    private int checkpointPosition;
+    private int writePosition;
+    private long compactedBytes;
+    private final List<Entry> recovered = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition spaceFreed = lock.newCondition();
+
+    public ReviewJournal(Path file, int capacity, boolean forceOnAppend) throws IOException {
+        if (capacity < HEADER_SIZE + RECORD_HEADER_SIZE + TERMINATOR_SIZE + 1) {
+            throw new IllegalArgumentException("Journal capacity is too small: " + capacity);
+        }
+        this.capacity = capacity;
+        this.forceOnAppend = forceOnAppend;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Two writers on one file would replay the same records and overwrite each other's appends
+        if (!tryLock(channel)) {
+            channel.close();
+            throw new IllegalStateException("Journal " + file + " is already in use by another writer");
+        }
+        long size = channel.size();
+        if (size > 0 && size != capacity) {
+            channel.close();
+            throw new IllegalStateException("Journal " + file + " has size " + size
+                    + " but capacity " + capacity + " is configured; flush or move it before resizing");
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        recover();
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            // Held until the channel is closed
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            return false; // locked by another channel in this JVM
+        }
+    }
+
+    private void recover() {
+        long checkpoint = buffer.getLong(0);
+        if (checkpoint == 0) {
+            checkpoint = HEADER_SIZE; // new file
+            buffer.putLong(0, checkpoint);
+        }
+        if (checkpoint < HEADER_SIZE || checkpoint > capacity - TERMINATOR_SIZE) {
+            throw new IllegalStateException("Corrupt journal header, checkpoint " + checkpoint);
+        }
+        checkpointPosition = (int) checkpoint;
+
+        int position = checkpointPosition;
+        while (position + RECORD_HEADER_SIZE <= capacity - TERMINATOR_SIZE) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > capacity - TERMINATOR_SIZE) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            if (crc(payload) != buffer.getInt(position + Integer.BYTES)) {
+                break; // torn write from a crash mid-append; nothing after it was acknowledged
+            }
+            position += RECORD_HEADER_SIZE + length;
+            recovered.add(new Entry(payload, position));
+        }
+        writePosition = position;
+        buffer.putInt(writePosition, 0);
+    }
+
+    /**
+     * Records found between the checkpoint and the end of the log when the journal was opened.
+     */
+    public List<Entry> recoveredEntries() {
+        return new ArrayList<>(recovered);
+    }
+
+    /**
+     * Appends one record, waiting up to {@code timeoutMs} for flushed records to free space.
+     *
+     * @return logical offset just past the record, to be passed to {@link #checkpoint} once it is flushed
+     * @throws TimeoutException if the journal stayed full for the whole timeout
+     */
+    public long append(byte[] payload, long timeoutMs) throws InterruptedException, TimeoutException {
+        int needed = RECORD_HEADER_SIZE + payload.length;
+        if (needed > capacity - HEADER_SIZE - TERMINATOR_SIZE) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit the journal");
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lockInterruptibly();
+        try {
+            while (writePosition + needed + TERMINATOR_SIZE > capacity) {
+                compact();
+                if (writePosition + needed + TERMINATOR_SIZE <= capacity) {
+                    break;
+                }
+                if (remainingNanos <= 0) {
+                    throw new TimeoutException("Journal is full");
+                }
+                remainingNanos = spaceFreed.awaitNanos(remainingNanos);
+            }
+
+            int start = writePosition;
+            buffer.putInt(start + needed, 0);
+            buffer.put(start + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(start + Integer.BYTES, crc(payload));
+            buffer.putInt(start, payload.length);
+            if (forceOnAppend) {
+                buffer.force(start, needed + TERMINATOR_SIZE);
+            }
+            writePosition = start + needed;
+            return compactedBytes + writePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks every record up to {@code logicalOffset} as flushed.
+     */
+    public void checkpoint(long logicalOffset) {
+        lock.lock();
+        try {
+            int position = (int) (logicalOffset - compactedBytes);
+            if (position < checkpointPosition || position > writePosition) {
+                throw new IllegalArgumentException("Checkpoint " + logicalOffset + " is outside the unflushed records");
+            }
+            checkpointPosition = position;
+            buffer.putLong(0, position);
+            if (forceOnAppend) {
+                buffer.force(0, HEADER_SIZE);
+            }
+            if (checkpointPosition > capacity / 2) {
+                compact();
+            }
+            spaceFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the unflushed records to the front of the file. Only done when the destination does not overlap
+     * them, so a crash part-way leaves the old copy, still referenced by the header, intact.
+     */
+    private void compact() {
+        int live = writePosition - checkpointPosition;
+        if (checkpointPosition < HEADER_SIZE + live + TERMINATOR_SIZE) {
+            return;
+        }
+        ByteBuffer source = buffer.duplicate();
+        source.position(checkpointPosition).limit(writePosition);
+        ByteBuffer target = buffer.duplicate();
+        target.position(HEADER_SIZE);
+        target.put(source);
+        buffer.putInt(HEADER_SIZE + live, 0);
+        buffer.force();
+        buffer.putLong(0, HEADER_SIZE);
+        buffer.force(0, HEADER_SIZE);
+
+        compactedBytes += checkpointPosition - HEADER_SIZE;
+        writePosition = HEADER_SIZE + live;
+        checkpointPosition = HEADER_SIZE;
+    }
+
+    public int pendingBytes() {
+        lock.lock();
+        try {
+            return writePosition - checkpointPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public static class Entry {
+        private final byte[] payload;
+        private final long offset;
+
+        Entry(byte[] payload, long offset) {
+            this.payload = payload;
+            this.offset = offset;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        /**
+         * Logical offset just past this record.
+         */
+        public long getOffset() {
+            return offset;
+        }
+    }
+}
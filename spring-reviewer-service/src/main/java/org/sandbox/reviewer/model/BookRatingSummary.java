@@ -0,0 +1,81 @@
+package org.sandbox.reviewer.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Document(collection = "book_rating_summary")
+public class BookRatingSummary {
+    @Id
+    private String bookId;
+    private long count;
+    private long sum;
+    private Map<String, Long> histogram = new HashMap<>(); // rating ("1".."5") -> number of reviews
+    private long updatedAt;
+
+    // Default constructor
+    public BookRatingSummary() {
+    }
+
+    // Getters and setters
+    public String getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public void setSum(long sum) {
+        this.sum = sum;
+    }
+
+    public Map<String, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<String, Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public RatingStats toRatingStats() {
+        RatingStats stats = new RatingStats(bookId);
+        if (histogram != null) {
+            histogram.forEach((rating, ratings) -> stats.addRatings(Integer.parseInt(rating), ratings));
+        }
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "BookRatingSummary{" +
+                "bookId='" + bookId + '\'' +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", histogram=" + histogram +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
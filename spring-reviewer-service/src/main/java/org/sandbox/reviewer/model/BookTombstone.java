@@ -0,0 +1,9 @@
+package org.sandbox.reviewer.model;
+
+/**
+ * Cached in place of a {@link Book} the JavaEE app reported as not existing, so repeated lookups of unknown
+ * ids are answered from the cache until the tombstone expires or the book's cache entry is invalidated.
+ */
+public enum BookTombstone {
+    INSTANCE
+}
@@ -0,0 +1,67 @@
+package org.sandbox.reviewer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk review import: how many reviews were stored and why each rejected one failed.
+ * Error indexes refer to positions in the submitted list.
+ */
+public class BulkImportResult {
+    private final int received;
+    private final int inserted;
+    private final List<ItemError> errors;
+
+    public BulkImportResult(int received, int inserted, List<ItemError> errors) {
+        this.received = received;
+        this.inserted = inserted;
+        this.errors = new ArrayList<>(errors);
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public List<ItemError> getErrors() {
+        return errors;
+    }
+
+    public static class ItemError {
+        private final int index;
+        private final String message;
+
+        public ItemError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "ItemError{" +
+                    "index=" + index +
+                    ", message='" + message + '\'' +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportResult{" +
+                "received=" + received +
+                ", inserted=" + inserted +
+                ", errors=" + errors.size() +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package org.sandbox.reviewer.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RatingStats {
+    private final String bookId;
+    private final long[] histogram = new long[5]; // index 0 holds the count of 1-star ratings
+
+    public RatingStats(String bookId) {
+        this.bookId = bookId;
+    }
+
+    public void addRatings(int rating, long count) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        histogram[rating - 1] += count;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (long ratings : histogram) {
+            count += ratings;
+        }
+        return count;
+    }
+
+    public long getSum() {
+        long sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            sum += histogram[i] * (i + 1);
+        }
+        return sum;
+    }
+
+    public double getAverage() {
+        long count = getCount();
+        if (count == 0) {
+            return 0.0;
+        }
+        return Math.round(((double) getSum() / count) * 100.0) / 100.0; // Round to 2 decimal places
+    }
+
+    public Map<Integer, Long> getHistogram() {
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            result.put(i + 1, histogram[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingStats{" +
+                "bookId='" + bookId + '\'' +
+                ", count=" + getCount() +
+                ", average=" + getAverage() +
+                ", histogram=" + getHistogram() +
+                '}';
+    }
+}
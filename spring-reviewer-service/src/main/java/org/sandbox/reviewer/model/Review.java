@@ -1,13 +1,23 @@
 package org.sandbox.reviewer.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "reviews")
+@CompoundIndexes({
+        // Keyset pagination: newest first, _id breaks ties between reviews saved in the same millisecond.
+        // Its prefixes also serve bookId and (bookId, timestamp desc) lookups, so those need no index of their own.
+        @CompoundIndex(name = "bookId_timestamp_id", def = "{'bookId': 1, 'timestamp': -1, '_id': -1}", background = true),
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}", background = true)
+})
 public class Review {
     @Id
     private String id;
     private String bookId;
+    @Indexed(name = "reviewerName", background = true)
     private String reviewerName;
     private int rating; // 1-5 scale
     private String comment;
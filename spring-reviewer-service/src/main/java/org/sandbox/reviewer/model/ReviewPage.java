@@ -0,0 +1,33 @@
+package org.sandbox.reviewer.model;
+
+import java.util.List;
+
+/**
+ * One page of reviews, newest first. {@code nextCursor} is an opaque token for the following page and is
+ * {@code null} on the last page.
+ */
+public class ReviewPage {
+    private final List<Review> reviews;
+    private final String nextCursor;
+
+    public ReviewPage(List<Review> reviews, String nextCursor) {
+        this.reviews = reviews;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Review> getReviews() {
+        return reviews;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewPage{" +
+                "reviews=" + reviews.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package org.sandbox.reviewer.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps concurrent calls to one dependency, so a slow dependency holds at most {@code maxConcurrentCalls} callers
+ * instead of every request thread.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param maxWaitMs how long a blocking caller may wait for a free slot; non-blocking callers never wait
+     */
+    public Bulkhead(int maxConcurrentCalls, long maxWaitMs) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("Bulkhead needs at least one concurrent call: " + maxConcurrentCalls);
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Waits up to {@code maxWaitMs} for a slot.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        return count(permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    public boolean tryAcquireNow() {
+        return count(permits.tryAcquire());
+    }
+
+    private boolean count(boolean acquired) {
+        if (!acquired) {
+            rejected.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrentCalls", maxConcurrentCalls);
+        stats.put("activeCalls", maxConcurrentCalls - permits.availablePermits());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
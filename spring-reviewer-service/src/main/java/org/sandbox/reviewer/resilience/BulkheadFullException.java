@@ -0,0 +1,13 @@
+package org.sandbox.reviewer.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown instead of calling a dependency that already has the maximum number of calls in flight.
+ */
+public class BulkheadFullException extends RejectedExecutionException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package org.sandbox.reviewer.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown instead of calling a dependency whose circuit is open.
+ */
+public class CallNotPermittedException extends RejectedExecutionException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
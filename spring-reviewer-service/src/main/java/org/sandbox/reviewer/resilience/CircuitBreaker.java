@@ -0,0 +1,231 @@
+package org.sandbox.reviewer.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one remote dependency.
+ * <p>
+ * While {@code CLOSED} the outcome of the last {@code windowSize} calls is kept; once at least {@code minimumCalls}
+ * are recorded and the failure rate or the slow-call rate reaches its threshold, the circuit opens and calls are
+ * refused for {@code openDurationMs}. It then goes {@code HALF_OPEN} and lets {@code halfOpenCalls} probes through:
+ * if their rates stay below the thresholds it closes again with an empty window, otherwise it reopens.
+ * <p>
+ * Every permitted call must be completed with {@link #onResult} or handed back with {@link #releasePermission}.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte FAILED = 0x01;
+    private static final byte SLOW = 0x02;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesPermitted;
+    private int probeCalls;
+    private int probeFailures;
+    private int probeSlowCalls;
+
+    private final LongAdder notPermitted = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> transitions = new ConcurrentHashMap<>();
+
+    /**
+     * @param failureRateThreshold  failure percentage (1-100) that opens the circuit
+     * @param slowCallRateThreshold percentage (1-100) of calls lasting {@code slowCallDurationMs} or more that opens it
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int slowCallRateThreshold, long slowCallDurationMs,
+                          int windowSize, int minimumCalls, long openDurationMs, int halfOpenCalls) {
+        this(name, failureRateThreshold, slowCallRateThreshold, slowCallDurationMs, windowSize, minimumCalls,
+                openDurationMs, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureRateThreshold, int slowCallRateThreshold, long slowCallDurationMs,
+                   int windowSize, int minimumCalls, long openDurationMs, int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker window: size " + windowSize
+                    + ", minimum calls " + minimumCalls + ", half-open calls " + halfOpenCalls);
+        }
+        if (failureRateThreshold < 1 || failureRateThreshold > 100
+                || slowCallRateThreshold < 1 || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("Circuit breaker rate thresholds must be between 1 and 100");
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(slowCallDurationMs);
+        this.window = new byte[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return whether a call may go out now; {@code false} while open, or when all half-open probes are taken
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            boolean permitted = switch (state) {
+                case CLOSED -> true;
+                case HALF_OPEN -> probesPermitted < halfOpenCalls;
+                case OPEN -> false;
+            };
+            if (!permitted) {
+                notPermitted.increment();
+            } else if (state == State.HALF_OPEN) {
+                probesPermitted++;
+            }
+            return permitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands back a permission whose call never went out, so a half-open probe slot is not lost.
+     */
+    public void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probesPermitted > probeCalls) {
+                probesPermitted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a permitted call. Results of calls started before the circuit last changed state still count
+     * towards the current state, except while it is open, where they are dropped.
+     */
+    public void onResult(long durationNanos, boolean failed) {
+        byte outcome = (byte) ((failed ? FAILED : 0) | (durationNanos >= slowCallDurationNanos ? SLOW : 0));
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                record(outcome);
+                if (windowCalls >= minimumCalls
+                        && (rate(windowFailures, windowCalls) >= failureRateThreshold
+                        || rate(windowSlowCalls, windowCalls) >= slowCallRateThreshold)) {
+                    transitionTo(State.OPEN);
+                }
+            } else if (state == State.HALF_OPEN) {
+                probeCalls++;
+                probeFailures += outcome & FAILED;
+                probeSlowCalls += (outcome & SLOW) >> 1;
+                if (probeCalls >= halfOpenCalls) {
+                    boolean healthy = rate(probeFailures, probeCalls) < failureRateThreshold
+                            && rate(probeSlowCalls, probeCalls) < slowCallRateThreshold;
+                    transitionTo(healthy ? State.CLOSED : State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(byte outcome) {
+        if (windowCalls == window.length) {
+            byte evicted = window[windowNext];
+            windowFailures -= evicted & FAILED;
+            windowSlowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = outcome;
+        windowFailures += outcome & FAILED;
+        windowSlowCalls += (outcome & SLOW) >> 1;
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private static float rate(int count, int calls) {
+        return calls == 0 ? 0 : count * 100f / calls;
+    }
+
+    private void transitionTo(State target) {
+        if (state == State.HALF_OPEN) {
+            logger.warn("Circuit breaker '{}' {} -> {} after {} probes (failure rate {}%, slow-call rate {}%)",
+                    name, state, target, probeCalls, rate(probeFailures, probeCalls), rate(probeSlowCalls, probeCalls));
+        } else {
+            logger.warn("Circuit breaker '{}' {} -> {} (failure rate {}%, slow-call rate {}%)", name, state, target,
+                    rate(windowFailures, windowCalls), rate(windowSlowCalls, windowCalls));
+        }
+        transitions.computeIfAbsent(state + "_TO_" + target, key -> new LongAdder()).increment();
+        state = target;
+        if (target == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+        if (target != State.OPEN) {
+            probesPermitted = 0;
+            probeCalls = 0;
+            probeFailures = 0;
+            probeSlowCalls = 0;
+        }
+        if (target == State.CLOSED) {
+            windowNext = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+            windowSlowCalls = 0;
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Long> transitionCounts = new LinkedHashMap<>();
+        transitions.forEach((transition, count) -> transitionCounts.put(transition, count.sum()));
+        lock.lock();
+        try {
+            stats.put("state", state.name());
+            stats.put("bufferedCalls", windowCalls);
+            stats.put("failureRate", rate(windowFailures, windowCalls));
+            stats.put("slowCallRate", rate(windowSlowCalls, windowCalls));
+        } finally {
+            lock.unlock();
+        }
+        stats.put("notPermitted", notPermitted.sum());
+        stats.put("transitions", transitionCounts);
+        return stats;
+    }
+}
@@ -3,158 +3,618 @@ package org.sandbox.reviewer.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
-import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.config.RequestConfig;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.ContentType;
-import org.apache.hc.core5.http.HttpEntity;
-import org.apache.hc.core5.http.HttpEntityContainer;
-import org.apache.hc.core5.http.ParseException;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.sandbox.reviewer.client.JavaEEGraphQLClient;
 import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BookTombstone;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 @Service
 public class BookService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookService.class);
     private static final String CACHE_PREFIX = "book:";
+    private static final String BOOK_QUERY = "query Book($id: ID!) { book(id: $id) { id title author year } }";
 
-    private CloseableHttpClient httpClient;
+    @Autowired
+    private JavaEEGraphQLClient graphQLClient;
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private String javaEEAppUrl = "http://javaee-app:8080"; // Using service name in Docker
+    @Autowired
+    private Cache<String, Book> bookNearCache;
 
-    @PostConstruct
-    public void init() {
-        RequestConfig config = RequestConfig.custom()
-                .setConnectionRequestTimeout(5000, TimeUnit.MILLISECONDS)
-                .build();
+    @Autowired
+    private Cache<String, Boolean> missingBookNearCache;
 
-        this.httpClient = HttpClients.custom()
-                .setDefaultRequestConfig(config)
-                .build();
+    // Async fetch results are cached here: the client completes its futures on its I/O reactor thread
+    @Autowired
+    @Qualifier("reviewQueryExecutor")
+    private Executor reviewQueryExecutor;
 
-        // Configuration for Docker environment URL
-        String envUrl = System.getenv("JAVAEE_APP_URL");
-        if (envUrl != null && !envUrl.isEmpty()) {
-            javaEEAppUrl = envUrl;
-        }
-        logger.info("JavaEE App URL configured as: {}", javaEEAppUrl);
-    }
+    @Value("${book.cache.redis.ttl-seconds:3600}")
+    private long redisTtlSeconds = 3600;
+
+    // Random spread of the Redis TTL as a fraction of it, so books cached together do not expire together
+    @Value("${book.cache.redis.ttl-jitter:0.1}")
+    private double ttlJitter = 0.1;
+
+    // How long past its TTL a book stays in Redis to be served while it is refreshed
+    @Value("${book.cache.redis.stale-seconds:300}")
+    private long staleSeconds = 300;
+
+    // Reads in this last fraction of the TTL refresh the book in the background
+    @Value("${book.cache.refresh-ahead-fraction:0.1}")
+    private double refreshAheadFraction = 0.1;
+
+    @Value("${book.cache.refresh.retry-interval-ms:1000}")
+    private long refreshRetryIntervalMs = 1000;
+
+    @Value("${book.cache.missing.ttl-seconds:60}")
+    private long missingTtlSeconds = 60;
+
+    @Value("${book.fetch.wait-timeout-ms:5000}")
+    private long fetchWaitTimeoutMs = 5000;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LongAdder tombstoneHits = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder backgroundRefreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    // One fetch per book id at a time; concurrent misses wait on the leader's future
+    private final ConcurrentMap<String, CompletableFuture<Book>> inFlightFetches = new ConcurrentHashMap<>();
+
+    // Books whose last background refresh failed, with the time the next attempt is allowed
+    private final ConcurrentMap<String, Long> refreshRetryAfter = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public Book getBookById(String bookId) {
         validateBookId(bookId);
         String cacheKey = CACHE_PREFIX + bookId;
 
-        // Attempt to get book from cache
-        Book cachedBook = (Book) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedBook != null) {
+        // Attempt to get book from the in-process cache first
+        Book localBook = bookNearCache.getIfPresent(cacheKey);
+        if (localBook != null) {
+            logger.debug("Book found in local cache: {}", bookId);
+            return localBook;
+        }
+
+        if (isKnownMissing(cacheKey)) {
+            return null;
+        }
+
+        // Then from Redis
+        Object cached = readRedis(bookId, cacheKey);
+        if (cached instanceof Book cachedBook) {
             logger.info("Book found in cache: {}", bookId);
             return cachedBook;
         }
+        if (cached == BookTombstone.INSTANCE) {
+            return null;
+        }
 
         // Fetch from JavaEE app if not cached
-        Book book = fetchBookFromJavaEEApp(bookId);
-        if (book != null) {
-            redisTemplate.opsForValue().set(cacheKey, book, 1, TimeUnit.HOURS);
-            logger.info("Book fetched from JavaEE app and cached: {}", bookId);
+        return loadBookCoalesced(bookId, cacheKey);
+    }
+
+    private Book loadBookCoalesced(String bookId, String cacheKey) {
+        CompletableFuture<Book> fetch = new CompletableFuture<>();
+        CompletableFuture<Book> inFlight = inFlightFetches.putIfAbsent(bookId, fetch);
+        if (inFlight != null) {
+            logger.debug("Waiting for in-flight fetch of book: {}", bookId);
+            return awaitInFlightFetch(bookId, inFlight);
         }
 
-        return book;
+        try {
+            // A previous leader may have finished between our cache miss and taking the slot
+            Book book = bookNearCache.getIfPresent(cacheKey);
+            if (book == null && missingBookNearCache.getIfPresent(cacheKey) == null) {
+                JsonNode data = graphQLClient.execute(bookQuery(bookId), bookId);
+                book = data == null ? null : parseBook(data.path("book"), bookId);
+                cacheFetchResult(bookId, book, data);
+            }
+            fetch.complete(book);
+            return book;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetches.remove(bookId, fetch);
+        }
     }
 
-    private Book fetchBookFromJavaEEApp(String bookId) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, String> queryMap = new HashMap<>();
-        queryMap.put("query", "query Book { book(id: \"%s\") { id title author year } }"
-                .formatted(bookId));
-        String graphQlQuery;
+    private Book awaitInFlightFetch(String bookId, CompletableFuture<Book> inFlight) {
         try {
-            graphQlQuery = objectMapper.writeValueAsString(queryMap);
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to cook GraphQL request json query with {}", e.getMessage());
-            throw new RuntimeException(e);
-        }
-        String url = javaEEAppUrl + "/javaee-graphql-project/graphql"; // http://docker-container/context-project/graphql
-        logger.info("Executing GraphQL query\n'{}'\n url '{}'", graphQlQuery, url);
-        HttpPost request = new HttpPost(url);
-        request.setHeader("Content-Type", "application/json");
-        request.setEntity(new StringEntity(graphQlQuery, ContentType.APPLICATION_JSON));
-
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
-            int statusCode = response.getCode();
-            if (statusCode == 200) {
-                logger.info("JavaEE GraphQL response code is 200");
-                return processGraphQLResponse(response);
-            } else {
-                handleErrorResponse(statusCode, url);
+            return inFlight.get(fetchWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Timed out after {} ms waiting for book fetch: {}", fetchWaitTimeoutMs, bookId);
+            throw new RuntimeException("Timed out waiting for book " + bookId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for book " + bookId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException rejected) {
+                throw rejected; // the leader was shed by the circuit breaker or bulkhead, so is this caller
             }
-        } catch (IOException | ParseException e) {
-            logger.error("Error fetching book from JavaEE app: {}", bookId, e);
+            throw new RuntimeException("Error fetching book " + bookId + ": " + e.getCause().getMessage(), e.getCause());
         }
-        return null;
     }
 
-    private Book processGraphQLResponse(HttpEntityContainer response) throws IOException, ParseException {
-        HttpEntity entity = response.getEntity();
-        if (entity != null) {
-            String responseBody = EntityUtils.toString(entity);
-            logger.info("Successfully fetched book from JavaEE app via GraphQL.");
-            // Parse the GraphQL response
-            JsonNode root = objectMapper.readTree(responseBody);
-            if (root.has("errors")) {
-                logger.error("GraphQL errors: {}", root.get("errors").toString());
+    /**
+     * Non-blocking variant of {@link #getBookById}. Cache hits complete immediately; a miss joins or
+     * starts the same single-flight fetch as the blocking path, but over the async HTTP client, so no
+     * thread waits for the JavaEE app. The Redis lookup itself stays synchronous.
+     */
+    public CompletableFuture<Book> getBookByIdAsync(String bookId) {
+        validateBookId(bookId);
+        String cacheKey = CACHE_PREFIX + bookId;
+
+        Book localBook = bookNearCache.getIfPresent(cacheKey);
+        if (localBook != null) {
+            return CompletableFuture.completedFuture(localBook);
+        }
+        if (isKnownMissing(cacheKey)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Object cached = readRedis(bookId, cacheKey);
+        if (cached instanceof Book cachedBook) {
+            return CompletableFuture.completedFuture(cachedBook);
+        }
+        if (cached == BookTombstone.INSTANCE) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Book> fetch = new CompletableFuture<>();
+        CompletableFuture<Book> inFlight = inFlightFetches.putIfAbsent(bookId, fetch);
+        if (inFlight != null) {
+            // A dependent copy, so one caller timing out does not fail the shared fetch
+            return inFlight.thenApply(Function.identity())
+                    .orTimeout(fetchWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        fetchAsync(bookId, fetch);
+        return fetch.thenApply(Function.identity());
+    }
+
+    /**
+     * Redis tier of a single lookup. Reads the value and its remaining TTL in one pipelined round trip and
+     * returns the book, the tombstone or {@code null} on a miss. A book read in the last
+     * {@code refreshAheadFraction} of its TTL, or already in its stale window, is returned as is and refreshed
+     * in the background.
+     */
+    @SuppressWarnings("unchecked")
+    private Object readRedis(String bookId, String cacheKey) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().get(cacheKey);
+                ops.getExpire(cacheKey, TimeUnit.MILLISECONDS);
                 return null;
             }
-            JsonNode bookNode = root.path("data").path("book");
-            return objectMapper.treeToValue(bookNode, Book.class);
+        });
+        Object cached = results.isEmpty() ? null : results.get(0);
+        if (cached instanceof Book book) {
+            onRedisHit(bookId, cacheKey, book, results.size() > 1 ? results.get(1) : null);
+            return book;
+        }
+        if (cached == BookTombstone.INSTANCE) {
+            rememberMissing(cacheKey);
+            return cached;
         }
+        redisMisses.increment();
         return null;
     }
 
-    private void handleErrorResponse(int statusCode, String url) {
-        if (statusCode == 404) {
-            logger.info("Book not found in JavaEE app: {}", url);
+    /**
+     * Promotes a book read from Redis to the local tier unless it is in its stale window, and refreshes it in the
+     * background when it is stale or in the refresh-ahead part of its TTL.
+     *
+     * @param ttl the PTTL reply read along with the book
+     */
+    private void onRedisHit(String bookId, String cacheKey, Book book, Object ttl) {
+        redisHits.increment();
+        long remainingMs = remainingTtlMs(ttl);
+        long staleWindowMs = TimeUnit.SECONDS.toMillis(staleSeconds);
+        long refreshAheadMs = (long) (TimeUnit.SECONDS.toMillis(redisTtlSeconds) * refreshAheadFraction);
+        if (remainingMs > staleWindowMs) {
+            bookNearCache.put(cacheKey, book);
+            if (remainingMs <= staleWindowMs + refreshAheadMs) {
+                refreshInBackground(bookId);
+            }
         } else {
-            logger.warn("Failed to fetch book from JavaEE app. Status: {}, URL: {}", statusCode, url);
+            // Kept out of the local tier, so the next read sees the refreshed copy or retries the refresh
+            staleServed.increment();
+            refreshInBackground(bookId);
+        }
+    }
+
+    private static long remainingTtlMs(Object ttl) {
+        if (!(ttl instanceof Long ttlMs) || ttlMs == -1) {
+            return Long.MAX_VALUE; // no expiry
+        }
+        return Math.max(0, ttlMs); // -2: expired between GET and PTTL
+    }
+
+    /**
+     * Re-fetches a book over the async client while callers keep getting the cached copy. Skipped when a fetch
+     * of the book is already running, or when the last refresh failed less than {@code refreshRetryIntervalMs} ago.
+     * The refreshed copy is written to Redis on {@code reviewQueryExecutor}, not on the client's I/O thread.
+     */
+    private void refreshInBackground(String bookId) {
+        Long retryAfter = refreshRetryAfter.get(bookId);
+        if (retryAfter != null && retryAfter > System.currentTimeMillis()) {
+            return;
+        }
+        CompletableFuture<Book> fetch = new CompletableFuture<>();
+        if (inFlightFetches.putIfAbsent(bookId, fetch) != null) {
+            return;
         }
+        backgroundRefreshes.increment();
+        fetch.whenComplete((book, e) -> {
+            if (book != null) {
+                refreshRetryAfter.remove(bookId);
+                return;
+            }
+            refreshFailures.increment();
+            refreshRetryAfter.put(bookId, System.currentTimeMillis() + refreshRetryIntervalMs);
+            logger.warn("Background refresh of book {} failed, serving the cached copy: {}",
+                    bookId, e == null ? "no data" : e.getMessage());
+        });
+        fetchAsync(bookId, fetch);
+    }
+
+    private void fetchAsync(String bookId, CompletableFuture<Book> fetch) {
+        CompletableFuture<JsonNode> call;
+        try {
+            call = graphQLClient.executeAsync(bookQuery(bookId), bookId);
+        } catch (RuntimeException e) {
+            // Otherwise the in-flight entry is never removed and every later caller waits on a dead fetch
+            fetch.completeExceptionally(e);
+            inFlightFetches.remove(bookId, fetch);
+            return;
+        }
+        call.whenComplete((data, e) -> {
+            if (e != null) {
+                fetch.completeExceptionally(e);
+                inFlightFetches.remove(bookId, fetch);
+                return;
+            }
+            // Never block the reactor (or the orTimeout delayer) on the Redis write
+            try {
+                reviewQueryExecutor.execute(() -> completeFetch(bookId, fetch, data, true));
+            } catch (RejectedExecutionException rejected) {
+                logger.warn("Executor saturated, not caching fetched book {}", bookId);
+                completeFetch(bookId, fetch, data, false);
+            }
+        });
+    }
+
+    /**
+     * Caches the result of a successful call, if asked to, and completes the fetch with it. The cache write is
+     * best effort: a Redis error is logged and callers still get the book. The in-flight entry is removed only
+     * after the write, so callers arriving meanwhile join this fetch instead of starting another.
+     */
+    private void completeFetch(String bookId, CompletableFuture<Book> fetch, JsonNode data, boolean cache) {
+        try {
+            Book book = data == null ? null : parseBook(data.path("book"), bookId);
+            if (cache) {
+                try {
+                    cacheFetchResult(bookId, book, data);
+                } catch (RuntimeException cacheError) {
+                    logger.warn("Could not cache fetched book {}: {}", bookId, cacheError.getMessage());
+                }
+            }
+            fetch.complete(book);
+        } catch (RuntimeException parseError) {
+            fetch.completeExceptionally(parseError);
+        } finally {
+            inFlightFetches.remove(bookId, fetch);
+        }
+    }
+
+    /**
+     * Caches a fetched book, or a tombstone when the JavaEE app answered {@code book: null}. A failed call
+     * ({@code data == null}) or an unreadable book caches nothing, so outages are not mistaken for missing books.
+     */
+    private void cacheFetchResult(String bookId, Book book, JsonNode data) {
+        if (book != null) {
+            cacheBook(bookId, book);
+        } else if (isNotFound(data, "book")) {
+            cacheMissingBook(bookId);
+        }
+    }
+
+    private void cacheBook(String bookId, Book book) {
+        String cacheKey = CACHE_PREFIX + bookId;
+        redisTemplate.opsForValue().set(cacheKey, book, bookTtlSeconds(), TimeUnit.SECONDS);
+        bookNearCache.put(cacheKey, book);
+        missingBookNearCache.invalidate(cacheKey);
+        logger.info("Book fetched from JavaEE app and cached: {}", bookId);
+    }
+
+    /**
+     * Redis TTL for a book: the configured TTL with up to {@code ttlJitter} random spread either way, plus the
+     * stale window during which it is still served while being refreshed.
+     */
+    private long bookTtlSeconds() {
+        long jitter = (long) (redisTtlSeconds * ttlJitter);
+        long ttl = redisTtlSeconds + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        return Math.max(1, ttl) + staleSeconds;
+    }
+
+    private void cacheMissingBook(String bookId) {
+        if (missingTtlSeconds <= 0) {
+            return;
+        }
+        String cacheKey = CACHE_PREFIX + bookId;
+        redisTemplate.opsForValue().set(cacheKey, BookTombstone.INSTANCE, missingTtlSeconds, TimeUnit.SECONDS);
+        missingBookNearCache.put(cacheKey, Boolean.TRUE);
+        logger.info("Book not found in JavaEE app, cached tombstone for {}s: {}", missingTtlSeconds, bookId);
+    }
+
+    private boolean isKnownMissing(String cacheKey) {
+        if (missingBookNearCache.getIfPresent(cacheKey) == null) {
+            return false;
+        }
+        tombstoneHits.increment();
+        return true;
+    }
+
+    private void rememberMissing(String cacheKey) {
+        redisHits.increment();
+        tombstoneHits.increment();
+        missingBookNearCache.put(cacheKey, Boolean.TRUE);
+    }
+
+    private static boolean isNotFound(JsonNode data, String field) {
+        return data != null && data.path(field).isNull();
+    }
+
+    /**
+     * Resolves many books with at most two network hops: one pipelined Redis read (GET and PTTL per book) for
+     * everything missing from the local cache, then one aliased GraphQL query for whatever Redis did not have.
+     * Redis hits get the same treatment as single lookups: stale copies stay out of the local tier, and stale or
+     * nearly expired ones are refreshed in the background.
+     *
+     * @return books keyed by id, in request order; unknown ids are left out
+     */
+    public Map<String, Book> getBooksByIds(Collection<String> bookIds) {
+        if (bookIds == null) {
+            throw new IllegalArgumentException("Book IDs cannot be null");
+        }
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String bookId : bookIds) {
+            validateBookId(bookId);
+            distinctIds.add(bookId);
+        }
+
+        Map<String, Book> found = new HashMap<>();
+        List<String> redisLookups = new ArrayList<>();
+        for (String bookId : distinctIds) {
+            Book localBook = bookNearCache.getIfPresent(CACHE_PREFIX + bookId);
+            if (localBook != null) {
+                found.put(bookId, localBook);
+            } else if (!isKnownMissing(CACHE_PREFIX + bookId)) {
+                redisLookups.add(bookId);
+            }
+        }
+
+        List<String> misses = new ArrayList<>();
+        if (!redisLookups.isEmpty()) {
+            List<String> cacheKeys = redisLookups.stream().map(id -> CACHE_PREFIX + id).toList();
+            List<Object> results = readRedisBatch(cacheKeys);
+            for (int i = 0; i < redisLookups.size(); i++) {
+                Object cachedBook = 2 * i < results.size() ? results.get(2 * i) : null;
+                if (cachedBook instanceof Book book) {
+                    Object ttl = 2 * i + 1 < results.size() ? results.get(2 * i + 1) : null;
+                    onRedisHit(redisLookups.get(i), cacheKeys.get(i), book, ttl);
+                    found.put(redisLookups.get(i), book);
+                } else if (cachedBook == BookTombstone.INSTANCE) {
+                    rememberMissing(cacheKeys.get(i));
+                } else {
+                    redisMisses.increment();
+                    misses.add(redisLookups.get(i));
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<String> notFound = new ArrayList<>();
+            Map<String, Book> fetched = fetchBooksFromJavaEEApp(misses, notFound);
+            cacheBooks(fetched, notFound);
+            found.putAll(fetched);
+            logger.info("Fetched {} of {} uncached books from JavaEE app, {} not found",
+                    fetched.size(), misses.size(), notFound.size());
+        }
+
+        Map<String, Book> result = new LinkedHashMap<>();
+        for (String bookId : distinctIds) {
+            Book book = found.get(bookId);
+            if (book != null) {
+                result.put(bookId, book);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return value and PTTL of each key, interleaved
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> readRedisBatch(List<String> cacheKeys) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String cacheKey : cacheKeys) {
+                    ops.opsForValue().get(cacheKey);
+                    ops.getExpire(cacheKey, TimeUnit.MILLISECONDS);
+                }
+                return null;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cacheBooks(Map<String, Book> books, List<String> missingBookIds) {
+        List<String> tombstoned = missingTtlSeconds > 0 ? missingBookIds : List.of();
+        if (books.isEmpty() && tombstoned.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                books.forEach((bookId, book) ->
+                        ops.opsForValue().set(CACHE_PREFIX + bookId, book, bookTtlSeconds(), TimeUnit.SECONDS));
+                tombstoned.forEach(bookId -> ops.opsForValue().set(CACHE_PREFIX + bookId, BookTombstone.INSTANCE,
+                        missingTtlSeconds, TimeUnit.SECONDS));
+                return null;
+            }
+        });
+        books.forEach((bookId, book) -> bookNearCache.put(CACHE_PREFIX + bookId, book));
+        tombstoned.forEach(bookId -> missingBookNearCache.put(CACHE_PREFIX + bookId, Boolean.TRUE));
+    }
+
+    private Map<String, Object> bookQuery(String bookId) {
+        // The id goes in as a variable, so the query text is the same for every book and stays parsed server-side
+        Map<String, Object> queryMap = new HashMap<>();
+        queryMap.put("query", BOOK_QUERY);
+        queryMap.put("variables", Map.of("id", bookId));
+        return queryMap;
+    }
+
+    private Book parseBook(JsonNode bookNode, String bookId) {
+        try {
+            return toBook(bookNode);
+        } catch (JsonProcessingException e) {
+            logger.error("Error parsing book from JavaEE app: {}", bookId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Fetches all given books with a single aliased query ({@code b0: book(id: $id0) ... }).
+     * Books the JavaEE app does not know are absent from the result and added to {@code notFound}.
+     */
+    private Map<String, Book> fetchBooksFromJavaEEApp(List<String> bookIds, List<String> notFound) {
+        StringJoiner variableDefinitions = new StringJoiner(", ", "(", ")");
+        StringJoiner selections = new StringJoiner(" ", "{ ", " }");
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < bookIds.size(); i++) {
+            variableDefinitions.add("$id" + i + ": ID!");
+            selections.add("b" + i + ": book(id: $id" + i + ") { id title author year }");
+            variables.put("id" + i, bookIds.get(i));
+        }
+        Map<String, Object> queryMap = new HashMap<>();
+        queryMap.put("query", "query Books" + variableDefinitions + " " + selections);
+        queryMap.put("variables", variables);
+
+        Map<String, Book> books = new HashMap<>();
+        JsonNode data = graphQLClient.execute(queryMap, bookIds.toString());
+        if (data == null) {
+            return books;
+        }
+        for (int i = 0; i < bookIds.size(); i++) {
+            Book book = parseBook(data.path("b" + i), bookIds.get(i));
+            if (book != null) {
+                books.put(bookIds.get(i), book);
+            } else if (isNotFound(data, "b" + i)) {
+                notFound.add(bookIds.get(i));
+            }
+        }
+        return books;
+    }
+
+    private Book toBook(JsonNode bookNode) throws JsonProcessingException {
+        if (bookNode == null || bookNode.isMissingNode() || bookNode.isNull()) {
+            return null;
+        }
+        return objectMapper.treeToValue(bookNode, Book.class);
     }
 
     public void invalidateBookCache(String bookId) {
         validateBookId(bookId);
         String cacheKey = CACHE_PREFIX + bookId;
+        // Also drops a tombstone, so a book created after a lookup for its id is found right away
+        bookNearCache.invalidate(cacheKey);
+        missingBookNearCache.invalidate(cacheKey);
         redisTemplate.delete(cacheKey);
         logger.info("Invalidated cache for book: {}", bookId);
     }
 
+    public Map<String, Object> getCacheStats() {
+        CacheStats localStats = bookNearCache.stats();
+        Map<String, Object> local = new LinkedHashMap<>();
+        local.put("hits", localStats.hitCount());
+        local.put("misses", localStats.missCount());
+        local.put("hitRate", localStats.hitRate());
+        local.put("evictions", localStats.evictionCount());
+        local.put("size", bookNearCache.estimatedSize());
+
+        long hits = redisHits.sum();
+        long misses = redisMisses.sum();
+        Map<String, Object> redis = new LinkedHashMap<>();
+        redis.put("hits", hits);
+        redis.put("misses", misses);
+        redis.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+
+        Map<String, Object> tombstones = new LinkedHashMap<>();
+        tombstones.put("hits", tombstoneHits.sum());
+        tombstones.put("localSize", missingBookNearCache.estimatedSize());
+
+        Map<String, Object> refresh = new LinkedHashMap<>();
+        refresh.put("background", backgroundRefreshes.sum());
+        refresh.put("failures", refreshFailures.sum());
+        refresh.put("staleServed", staleServed.sum());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("local", local);
+        stats.put("redis", redis);
+        stats.put("tombstones", tombstones);
+        stats.put("refresh", refresh);
+        return stats;
+    }
+
     private void validateBookId(String bookId) {
         if (bookId == null || bookId.trim().isEmpty()) {
             throw new IllegalArgumentException("Book ID cannot be null or empty");
         }
     }
-
-    @PreDestroy
-    public void cleanup() throws IOException {
-        if (httpClient != null) {
-            httpClient.close();
-        }
-    }
 }
@@ -0,0 +1,166 @@
+package org.sandbox.reviewer.service;
+
+import org.bson.Document;
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Maintains one {@code book_rating_summary} document per book (count, sum and 1-5 histogram),
+ * so rating stats are a single primary-key read no matter how many reviews a book has.
+ */
+@Service
+public class RatingSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSummaryService.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Atomically adds ({@code delta = 1}) or removes ({@code delta = -1}) one rating from the book's summary.
+     */
+    public void recordRating(String bookId, int rating, int delta) {
+        mongoTemplate.upsert(byBookId(bookId), ratingIncrement(rating, delta), BookRatingSummary.class);
+    }
+
+    /**
+     * Adds a batch of ratings with one unordered bulk write: a single {@code $inc} upsert per book.
+     */
+    public void recordRatings(Collection<RatingStats> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookRatingSummary.class);
+        for (RatingStats stats : added) {
+            Update update = new Update()
+                    .inc("count", stats.getCount())
+                    .inc("sum", stats.getSum())
+                    .set("updatedAt", now);
+            stats.getHistogram().forEach((rating, ratings) -> {
+                if (ratings > 0) {
+                    update.inc("histogram." + rating, ratings);
+                }
+            });
+            bulk.upsert(byBookId(stats.getBookId()), update);
+        }
+        bulk.execute();
+    }
+
+    private static Update ratingIncrement(int rating, long delta) {
+        return new Update()
+                .inc("count", delta)
+                .inc("sum", delta * rating)
+                .inc("histogram." + rating, delta)
+                .set("updatedAt", System.currentTimeMillis());
+    }
+
+    public RatingStats getRatingStats(String bookId) {
+        BookRatingSummary summary = mongoTemplate.findById(bookId, BookRatingSummary.class);
+        return summary == null ? new RatingStats(bookId) : summary.toRatingStats();
+    }
+
+    /**
+     * Recomputes the book's stats from the {@code reviews} collection with a {@code $match}/{@code $group}
+     * pipeline and overwrites its summary.
+     */
+    public RatingStats rebuild(String bookId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("bookId").is(bookId)),
+                Aggregation.group("rating").count().as("count"));
+        AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, Review.class, Document.class);
+
+        RatingStats stats = new RatingStats(bookId);
+        for (Document bucket : results) {
+            stats.addRatings(((Number) bucket.get("_id")).intValue(), ((Number) bucket.get("count")).longValue());
+        }
+        mongoTemplate.upsert(byBookId(bookId), replacement(stats, System.currentTimeMillis()), BookRatingSummary.class);
+        logger.info("Rebuilt rating summary: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Recomputes every summary from {@code reviews} in one streamed aggregation, writing in unordered bulk
+     * batches, then drops summaries of books that no longer have reviews. Increments that land between the
+     * aggregation reading a book and its batch being written are overwritten, so run it when writes are quiet
+     * or follow up with {@link #rebuild(String)} for the affected books.
+     *
+     * @return number of summaries written
+     */
+    public long rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("bookId", "rating").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "bookId"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        long written = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookRatingSummary.class);
+        int batched = 0;
+        RatingStats current = null;
+        try (Stream<Document> buckets = mongoTemplate.aggregateStream(aggregation, Review.class, Document.class)) {
+            for (Document bucket : (Iterable<Document>) buckets::iterator) {
+                Document id = bucket.get("_id", Document.class);
+                String bookId = id.getString("bookId");
+                if (current != null && !current.getBookId().equals(bookId)) {
+                    bulk.upsert(byBookId(current.getBookId()), replacement(current, startedAt));
+                    written++;
+                    if (++batched == REBUILD_BATCH_SIZE) {
+                        bulk.execute();
+                        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookRatingSummary.class);
+                        batched = 0;
+                    }
+                }
+                if (current == null || !current.getBookId().equals(bookId)) {
+                    current = new RatingStats(bookId);
+                }
+                current.addRatings(((Number) id.get("rating")).intValue(), ((Number) bucket.get("count")).longValue());
+            }
+        }
+        if (current != null) {
+            bulk.upsert(byBookId(current.getBookId()), replacement(current, startedAt));
+            written++;
+            batched++;
+        }
+        if (batched > 0) {
+            bulk.execute();
+        }
+
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("updatedAt").lt(startedAt)),
+                BookRatingSummary.class).getDeletedCount();
+        logger.info("Rebuilt {} rating summaries, removed {} stale ones in {} ms",
+                written, removed, System.currentTimeMillis() - startedAt);
+        return written;
+    }
+
+    private static Query byBookId(String bookId) {
+        return Query.query(Criteria.where("_id").is(bookId));
+    }
+
+    private static Update replacement(RatingStats stats, long updatedAt) {
+        Update update = new Update()
+                .set("count", stats.getCount())
+                .set("sum", stats.getSum())
+                .set("updatedAt", updatedAt);
+        stats.getHistogram().forEach((rating, ratings) -> update.set("histogram." + rating, ratings));
+        return update;
+    }
+}
@@ -0,0 +1,64 @@
+package org.sandbox.reviewer.service;
+
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the {@link ReviewService} reads on the reactive streams driver. No thread waits on
+ * Mongo; in-flight queries are bounded by the reactive client's connection pool.
+ */
+@Service
+public class ReactiveReviewService {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Value("${reviewer.reactive.batch-size:256}")
+    private int batchSize = 256;
+
+    /**
+     * Every review of a book, newest first. Documents are pulled from the cursor at most {@code batchSize} at a
+     * time and only as fast as the subscriber requests them.
+     */
+    public Flux<Review> streamReviewsByBookId(String bookId) {
+        validateBookId(bookId);
+        Query query = new Query(Criteria.where("bookId").is(bookId))
+                .with(ReviewPageQuery.NEWEST_FIRST)
+                .cursorBatchSize(batchSize);
+        return reactiveMongoTemplate.find(query, Review.class);
+    }
+
+    /**
+     * Same keyset pages as {@link ReviewService#getReviewsPageByBookId}.
+     */
+    public Mono<ReviewPage> getReviewsPageByBookId(String bookId, String cursor, int limit) {
+        validateBookId(bookId);
+        ReviewPageQuery pageQuery = ReviewPageQuery.of(Criteria.where("bookId").is(bookId), cursor, limit);
+        return reactiveMongoTemplate.find(pageQuery.getQuery(), Review.class)
+                .collectList()
+                .map(pageQuery::toPage);
+    }
+
+    public Mono<RatingStats> getRatingStatsForBook(String bookId) {
+        validateBookId(bookId);
+        return reactiveMongoTemplate.findById(bookId, BookRatingSummary.class)
+                .map(BookRatingSummary::toRatingStats)
+                .defaultIfEmpty(new RatingStats(bookId));
+    }
+
+    private static void validateBookId(String bookId) {
+        if (bookId == null || bookId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Book ID cannot be null or empty");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.sandbox.reviewer.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.sandbox.reviewer.model.BulkImportResult;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Imports many reviews at once: validates them in parallel, checks each distinct book once through the book
+ * cache, inserts with unordered bulk writes in chunks and applies one rating-summary update per chunk.
+ * Invalid or failed items are reported individually and do not stop the rest of the import.
+ */
+@Service
+public class ReviewImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewImportService.class);
+    private static final int BOOK_LOOKUP_BATCH_SIZE = 100;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reviewer.bulk.max-reviews:10000}")
+    private int maxReviews = 10000;
+
+    @Value("${reviewer.bulk.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException if the books cannot be checked because the JavaEE
+     *         app's circuit is open or its bulkhead is full; nothing has been stored then
+     */
+    public BulkImportResult importReviews(List<Review> reviews) {
+        if (reviews == null || reviews.isEmpty()) {
+            throw new IllegalArgumentException("Reviews cannot be null or empty");
+        }
+        if (reviews.size() > maxReviews) {
+            throw new IllegalArgumentException("At most " + maxReviews + " reviews can be imported at once");
+        }
+
+        String[] errors = new String[reviews.size()];
+        IntStream.range(0, reviews.size()).parallel().forEach(i -> {
+            try {
+                reviewService.validateReview(reviews.get(i));
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+
+        rejectUnknownBooks(reviews, errors);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            if (errors[i] == null) {
+                accepted.add(i);
+            }
+        }
+        int inserted = 0;
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            inserted += insertChunk(reviews, accepted.subList(from, Math.min(from + chunkSize, accepted.size())), errors);
+        }
+
+        List<BulkImportResult.ItemError> itemErrors = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                itemErrors.add(new BulkImportResult.ItemError(i, errors[i]));
+            }
+        }
+        BulkImportResult result = new BulkImportResult(reviews.size(), inserted, itemErrors);
+        logger.info("Imported reviews: {}", result);
+        return result;
+    }
+
+    private void rejectUnknownBooks(List<Review> reviews, String[] errors) {
+        Set<String> bookIds = new LinkedHashSet<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            if (errors[i] == null) {
+                bookIds.add(reviews.get(i).getBookId());
+            }
+        }
+
+        Set<String> knownBookIds = new HashSet<>();
+        List<String> lookups = new ArrayList<>(bookIds);
+        for (int from = 0; from < lookups.size(); from += BOOK_LOOKUP_BATCH_SIZE) {
+            List<String> batch = lookups.subList(from, Math.min(from + BOOK_LOOKUP_BATCH_SIZE, lookups.size()));
+            knownBookIds.addAll(bookService.getBooksByIds(batch).keySet());
+        }
+
+        for (int i = 0; i < reviews.size(); i++) {
+            if (errors[i] == null && !knownBookIds.contains(reviews.get(i).getBookId())) {
+                errors[i] = "Book with ID " + reviews.get(i).getBookId() + " not found";
+            }
+        }
+    }
+
+    /**
+     * @return number of reviews of the chunk that were stored
+     */
+    private int insertChunk(List<Review> reviews, List<Integer> chunk, String[] errors) {
+        List<Review> documents = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            documents.add(reviews.get(index));
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class).insert(documents).execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything not listed in the write errors was stored
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                errors[chunk.get(error.getIndex())] = error.getMessage();
+            }
+        } catch (Exception e) {
+            logger.error("Error inserting a chunk of {} reviews", chunk.size(), e);
+            for (int index : chunk) {
+                errors[index] = "Error saving review: " + e.getMessage();
+            }
+            return 0;
+        }
+
+        Map<String, RatingStats> added = new HashMap<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (!failed.contains(i)) {
+                Review review = documents.get(i);
+                added.computeIfAbsent(review.getBookId(), RatingStats::new).addRatings(review.getRating(), 1);
+            }
+        }
+        try {
+            ratingSummaryService.recordRatings(added.values());
+        } catch (Exception e) {
+            // The reviews are stored; the summaries can be repaired with a rebuild
+            logger.error("Error updating rating summaries for books {}", added.keySet(), e);
+        }
+        return documents.size() - failed.size();
+    }
+}
@@ -0,0 +1,81 @@
+package org.sandbox.reviewer.service;
+
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset page of reviews, newest first, shared by the blocking and reactive read paths. Seeks past the cursor's
+ * {@code (timestamp, _id)} instead of skipping, so with the {@code (bookId, timestamp, _id)} /
+ * {@code (timestamp, _id)} indexes every page costs the same as the first.
+ */
+final class ReviewPageQuery {
+
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private final Query query;
+    private final int pageSize;
+
+    private ReviewPageQuery(Query query, int pageSize) {
+        this.query = query;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a non-positive limit or a cursor this class did not produce
+     */
+    static ReviewPageQuery of(Criteria criteria, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(limit, ReviewService.MAX_PAGE_SIZE);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            Review after = decodeCursor(cursor);
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").lt(after.getTimestamp()),
+                    Criteria.where("timestamp").is(after.getTimestamp()).and("id").lt(after.getId()));
+        }
+        // The extra row only tells us whether another page exists
+        return new ReviewPageQuery(new Query(criteria).with(NEWEST_FIRST).limit(pageSize + 1), pageSize);
+    }
+
+    Query getQuery() {
+        return query;
+    }
+
+    ReviewPage toPage(List<Review> reviews) {
+        if (reviews.size() <= pageSize) {
+            return new ReviewPage(reviews, null);
+        }
+        List<Review> page = reviews.subList(0, pageSize);
+        return new ReviewPage(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    private static String encodeCursor(Review last) {
+        String position = last.getTimestamp() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Review decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            if (separator < 1 || separator == position.length() - 1) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            Review after = new Review();
+            after.setTimestamp(Long.parseLong(position.substring(0, separator)));
+            after.setId(position.substring(separator + 1));
+            return after;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -1,25 +1,82 @@
 package org.sandbox.reviewer.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.bson.types.ObjectId;
+import org.sandbox.reviewer.model.RatingStats;
 import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 @Service
 public class ReviewService {
     
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+    public static final int MAX_PAGE_SIZE = 100;
     
     @Autowired
     private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private WriteBehindReviewWriter writeBehindWriter;
+
+    @Value("${reviewer.export.batch-size:1000}")
+    private int exportBatchSize = 1000;
+
+    private final ObjectWriter exportWriter = new ObjectMapper().writerFor(Review.class);
     
+    /**
+     * Stores a review and counts it in the book's rating summary. With write-behind enabled a new review is
+     * journaled and returned with its id right away, and only becomes visible to reads once it is flushed.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException when the write-behind buffer is full
+     */
     public Review saveReview(Review review) {
+        validateReview(review);
+
+        if (review.getId() == null && writeBehindWriter.isEnabled()) {
+            // Assigned up front so a journal replay of an already flushed review is a duplicate, not a second copy
+            review.setId(new ObjectId().toHexString());
+            writeBehindWriter.submit(review);
+            logger.info("Review accepted for write-behind for book: {}", review.getBookId());
+            return review;
+        }
+        
+        try {
+            // Re-saving an existing review must not count it twice
+            Review previous = review.getId() == null ? null : mongoTemplate.findById(review.getId(), Review.class);
+            Review savedReview = mongoTemplate.save(review);
+            if (previous != null) {
+                ratingSummaryService.recordRating(previous.getBookId(), previous.getRating(), -1);
+            }
+            ratingSummaryService.recordRating(savedReview.getBookId(), savedReview.getRating(), 1);
+            logger.info("Review saved for book: {}", review.getBookId());
+            return savedReview;
+        } catch (Exception e) {
+            logger.error("Error saving review for book: " + review.getBookId(), e);
+            throw new RuntimeException("Error saving review: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * @throws IllegalArgumentException naming the first field that is missing or out of range
+     */
+    public void validateReview(Review review) {
         if (review == null) {
             throw new IllegalArgumentException("Review cannot be null");
         }
@@ -35,63 +92,88 @@ public class ReviewService {
         if (review.getComment() == null || review.getComment().trim().isEmpty()) {
             throw new IllegalArgumentException("Review comment cannot be null or empty");
         }
-        
-        try {
-            Review savedReview = mongoTemplate.save(review);
-            logger.info("Review saved for book: {}", review.getBookId());
-            return savedReview;
-        } catch (Exception e) {
-            logger.error("Error saving review for book: " + review.getBookId(), e);
-            throw new RuntimeException("Error saving review: " + e.getMessage(), e);
-        }
     }
     
-    public List<Review> getReviewsByBookId(String bookId) {
+    /**
+     * Keyset-paginated reviews of a book, newest first. Pass the previous page's {@code nextCursor} to continue;
+     * {@code limit} is capped at {@link #MAX_PAGE_SIZE}.
+     */
+    public ReviewPage getReviewsPageByBookId(String bookId, String cursor, int limit) {
         if (bookId == null || bookId.trim().isEmpty()) {
             throw new IllegalArgumentException("Book ID cannot be null or empty");
         }
         try {
-            Query query = new Query();
-            query.addCriteria(Criteria.where("bookId").is(bookId));
-            List<Review> reviews = mongoTemplate.find(query, Review.class);
-            logger.info("Found {} reviews for book: {}", reviews.size(), bookId);
-            return reviews;
+            ReviewPage page = findPage(Criteria.where("bookId").is(bookId), cursor, limit);
+            logger.info("Found {} reviews for book: {}", page.getReviews().size(), bookId);
+            return page;
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error retrieving reviews for book: " + bookId, e);
             throw new RuntimeException("Error retrieving reviews: " + e.getMessage(), e);
         }
     }
-    
+
+    public ReviewPage getReviewsPage(String cursor, int limit) {
+        try {
+            return findPage(new Criteria(), cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving reviews page", e);
+            throw new RuntimeException("Error retrieving reviews: " + e.getMessage(), e);
+        }
+    }
+
+    private ReviewPage findPage(Criteria criteria, String cursor, int limit) {
+        ReviewPageQuery pageQuery = ReviewPageQuery.of(criteria, cursor, limit);
+        return pageQuery.toPage(mongoTemplate.find(pageQuery.getQuery(), Review.class));
+    }
+
     public double getAverageRatingForBook(String bookId) {
+        return getRatingStatsForBook(bookId).getAverage();
+    }
+
+    /**
+     * Count, average and 1-5 histogram of a book's ratings, read from its pre-aggregated summary document.
+     */
+    public RatingStats getRatingStatsForBook(String bookId) {
         if (bookId == null || bookId.trim().isEmpty()) {
             throw new IllegalArgumentException("Book ID cannot be null or empty");
         }
         try {
-            List<Review> reviews = getReviewsByBookId(bookId);
-            if (reviews.isEmpty()) {
-                return 0.0;
-            }
-            
-            double sum = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .sum();
-            
-            return Math.round((sum / reviews.size()) * 100.0) / 100.0; // Round to 2 decimal places
+            return ratingSummaryService.getRatingStats(bookId);
         } catch (Exception e) {
             logger.error("Error calculating average rating for book: " + bookId, e);
             throw new RuntimeException("Error calculating average rating: " + e.getMessage(), e);
         }
     }
     
-    public List<Review> getAllReviews() {
-        try {
-            return mongoTemplate.findAll(Review.class);
+    /**
+     * Writes every review as newline-delimited JSON, reading through a Mongo cursor {@code exportBatchSize}
+     * documents at a time, so memory use does not grow with the collection. The stream is flushed but not closed.
+     *
+     * @return number of reviews written
+     */
+    public long exportReviews(OutputStream outputStream) {
+        Query query = new Query().with(Sort.by("id")).cursorBatchSize(exportBatchSize);
+        long exported = 0;
+        try (Stream<Review> reviews = mongoTemplate.stream(query, Review.class)) {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            for (Review review : (Iterable<Review>) reviews::iterator) {
+                out.write(exportWriter.writeValueAsBytes(review));
+                out.write('\n');
+                exported++;
+            }
+            out.flush();
+            logger.info("Exported {} reviews", exported);
+            return exported;
         } catch (Exception e) {
-            logger.error("Error retrieving all reviews", e);
-            throw new RuntimeException("Error retrieving all reviews: " + e.getMessage(), e);
+            logger.error("Error exporting reviews after {} documents", exported, e);
+            throw new RuntimeException("Error exporting reviews: " + e.getMessage(), e);
         }
     }
-    
+
     public void deleteReview(String reviewId) {
         if (reviewId == null || reviewId.trim().isEmpty()) {
             throw new IllegalArgumentException("Review ID cannot be null or empty");
@@ -99,7 +181,10 @@ public class ReviewService {
         try {
             Query query = new Query();
             query.addCriteria(Criteria.where("id").is(reviewId));
-            mongoTemplate.remove(query, Review.class);
+            Review removed = mongoTemplate.findAndRemove(query, Review.class);
+            if (removed != null) {
+                ratingSummaryService.recordRating(removed.getBookId(), removed.getRating(), -1);
+            }
             logger.info("Deleted review: {}", reviewId);
         } catch (Exception e) {
             logger.error("Error deleting review: " + reviewId, e);
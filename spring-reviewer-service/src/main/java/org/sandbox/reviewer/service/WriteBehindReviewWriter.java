@@ -0,0 +1,285 @@
+package org.sandbox.reviewer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.sandbox.reviewer.journal.ReviewJournal;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind path for new reviews ({@code reviewer.write-behind.enabled}). A review is appended to a
+ * memory-mapped {@link ReviewJournal} and acknowledged; a single background thread inserts queued reviews into
+ * Mongo in unordered batches and then advances the journal checkpoint. Reviews still in the journal on startup are
+ * replayed, and because ids are assigned before journaling a replayed insert that already reached Mongo is
+ * recognised by its duplicate key and skipped.
+ * <p>
+ * At most {@code queue-capacity} reviews wait for Mongo at a time; beyond that {@link #submit} blocks for
+ * {@code accept-timeout-ms} and then rejects the review, which callers surface as 503.
+ */
+@Component
+public class WriteBehindReviewWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindReviewWriter.class);
+    private static final int DUPLICATE_KEY = 11000;
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+    // The journal is one MappedByteBuffer, which is indexed by int
+    private static final int MAX_JOURNAL_SIZE_MB = Integer.MAX_VALUE / (1024 * 1024);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    @Value("${reviewer.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${reviewer.write-behind.journal-path:#{systemProperties['java.io.tmpdir']}/reviewer-write-behind.journal}")
+    private String journalPath;
+
+    @Value("${reviewer.write-behind.journal-size-mb:64}")
+    private int journalSizeMb = 64;
+
+    @Value("${reviewer.write-behind.force-on-append:true}")
+    private boolean forceOnAppend = true;
+
+    @Value("${reviewer.write-behind.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${reviewer.write-behind.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${reviewer.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs = 200;
+
+    @Value("${reviewer.write-behind.accept-timeout-ms:2000}")
+    private long acceptTimeoutMs = 2000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<PendingReview> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+
+    private ReviewJournal journal;
+    private Semaphore capacity;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (journalSizeMb < 1 || journalSizeMb > MAX_JOURNAL_SIZE_MB) {
+            throw new IllegalArgumentException("reviewer.write-behind.journal-size-mb must be between 1 and "
+                    + MAX_JOURNAL_SIZE_MB + ", got " + journalSizeMb);
+        }
+        journal = new ReviewJournal(Path.of(journalPath), journalSizeMb * 1024 * 1024, forceOnAppend);
+
+        List<ReviewJournal.Entry> recovered = journal.recoveredEntries();
+        for (ReviewJournal.Entry entry : recovered) {
+            queue.add(new PendingReview(objectMapper.readValue(entry.getPayload(), Review.class), entry.getOffset()));
+        }
+        if (!recovered.isEmpty()) {
+            logger.info("Replaying {} journaled reviews from {}", recovered.size(), journalPath);
+        }
+        // Replayed reviews count against the buffer, so new submissions wait until they are flushed
+        capacity = new Semaphore(queueCapacity - recovered.size());
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "review-write-behind");
+        flusher.start();
+        logger.info("Write-behind enabled: journal {} ({} MB), queue capacity {}, batch size {}",
+                journalPath, journalSizeMb, queueCapacity, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Durably accepts a new review. The review must already carry its id.
+     *
+     * @throws RejectedExecutionException when the buffer stays full for {@code accept-timeout-ms}
+     */
+    public void submit(Review review) {
+        if (!running) {
+            throw new RejectedExecutionException("Write-behind writer is not running");
+        }
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(review);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acceptTimeoutMs);
+            if (!capacity.tryAcquire(acceptTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("Write-behind buffer is full");
+            }
+            try {
+                // Journal order and queue order must match, so checkpointing a batch never skips an unflushed record
+                appendLock.lockInterruptibly();
+                try {
+                    long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                    long offset = journal.append(payload, remainingMs);
+                    queue.add(new PendingReview(review, offset));
+                } finally {
+                    appendLock.unlock();
+                }
+            } catch (Exception e) {
+                capacity.release();
+                throw e;
+            }
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Write-behind journal is full", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for write-behind capacity", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error journaling review: " + e.getMessage(), e);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+        long backoffMs = flushIntervalMs;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingReview first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                flush(batch);
+                capacity.release(batch.size());
+                batch.clear();
+                backoffMs = flushIntervalMs;
+            } catch (InterruptedException e) {
+                // Shutdown: whatever is left stays in the journal and is replayed on the next start
+                break;
+            } catch (Exception e) {
+                flushFailures.incrementAndGet();
+                logger.error("Error flushing {} reviews to Mongo, retrying in {} ms", batch.size(), backoffMs, e);
+                if (!running) {
+                    break;
+                }
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    void flush(List<PendingReview> batch) {
+        List<Review> reviews = new ArrayList<>(batch.size());
+        for (PendingReview pending : batch) {
+            reviews.add(pending.review);
+        }
+
+        Set<Integer> notInserted = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class).insert(reviews).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                notInserted.add(error.getIndex());
+                if (error.getCode() != DUPLICATE_KEY) {
+                    // Retrying cannot fix a rejected document; keep going rather than block the journal forever
+                    logger.error("Dropping journaled review {}: {}", reviews.get(error.getIndex()), error.getMessage());
+                }
+            }
+        }
+
+        Map<String, RatingStats> added = new HashMap<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            if (!notInserted.contains(i)) {
+                Review review = reviews.get(i);
+                added.computeIfAbsent(review.getBookId(), RatingStats::new).addRatings(review.getRating(), 1);
+            }
+        }
+        try {
+            ratingSummaryService.recordRatings(added.values());
+        } catch (Exception e) {
+            // The reviews are stored; the summaries can be repaired with a rebuild
+            logger.error("Error updating rating summaries for books {}", added.keySet(), e);
+        }
+
+        journal.checkpoint(batch.get(batch.size() - 1).offset);
+        flushed.addAndGet(reviews.size() - notInserted.size());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        if (enabled) {
+            stats.put("queued", queue.size());
+            stats.put("journalPendingBytes", journal.pendingBytes());
+            stats.put("journalCapacityBytes", journal.getCapacity());
+            stats.put("flushed", flushed.get());
+            stats.put("rejected", rejected.get());
+            stats.put("flushFailures", flushFailures.get());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        // Give the flusher a chance to drain; anything left is replayed from the journal on the next start
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join();
+        }
+        flusher = null;
+        journal.close();
+        logger.info("Write-behind stopped, {} reviews left in the journal", queue.size());
+    }
+
+    static class PendingReview {
+        final Review review;
+        final long offset;
+
+        PendingReview(Review review, long offset) {
+            this.review = review;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.sandbox.reviewer.client;
+
+import ch.qos.logback.classic.Level;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of a blocking request handler (one JavaEE GraphQL call plus a simulated Mongo read) at high
+ * concurrency, on a Tomcat-sized platform thread pool versus one virtual thread per request.
+ * <p>
+ * Run with {@code gradle virtualThreadLoadBenchmark -Pargs="2000 20000"} (concurrency, requests). The task passes
+ * {@code -Djdk.tracePinnedThreads=full}, so any pinning inside the HTTP client shows up as a stack trace on stdout.
+ * The virtual-thread run needs JDK 21+ and is skipped otherwise. Numbers are indicative, not a JMH measurement.
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final int PLATFORM_THREADS = 200; // Tomcat's default maxThreads
+    private static final int BACKEND_LATENCY_MS = 50;
+    private static final int MONGO_LATENCY_MS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        ExecutorService backendThreads = Executors.newCachedThreadPool();
+        HttpServer backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        backend.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(BACKEND_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"data\":{\"book\":{\"id\":1,\"title\":\"Load\"}}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        backend.setExecutor(backendThreads);
+        backend.start();
+
+        JavaEEGraphQLClient client = newClient(concurrency);
+        ReflectionTestUtils.setField(client, "javaEEAppUrl", "http://127.0.0.1:" + backend.getAddress().getPort());
+        try {
+            System.out.printf("concurrency %d, requests %d, backend %d ms + mongo %d ms per request%n",
+                    concurrency, requests, BACKEND_LATENCY_MS, MONGO_LATENCY_MS);
+            System.out.printf("%-10s %10s %12s %10s%n", "executor", "req/s", "elapsed ms", "failed");
+
+            ThreadPoolTaskExecutor platform = new ThreadPoolTaskExecutor();
+            platform.setCorePoolSize(PLATFORM_THREADS);
+            platform.setMaxPoolSize(PLATFORM_THREADS);
+            platform.initialize();
+            run("platform", platform, client, concurrency, requests / 10); // warm-up
+            run("platform", platform, client, concurrency, requests);
+            platform.shutdown();
+
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("load-vt-");
+                virtual.setVirtualThreads(true);
+                run("virtual", virtual, client, concurrency, requests / 10);
+                run("virtual", virtual, client, concurrency, requests);
+            } else {
+                System.out.printf("%-10s skipped, needs JDK 21+ (running %s)%n", "virtual", Runtime.version());
+            }
+        } finally {
+            client.cleanup();
+            backend.stop(0);
+            backendThreads.shutdownNow();
+        }
+    }
+
+    private static JavaEEGraphQLClient newClient(int connections) {
+        JavaEEGraphQLClient client = new JavaEEGraphQLClient();
+        ReflectionTestUtils.setField(client, "maxTotal", connections);
+        ReflectionTestUtils.setField(client, "maxPerRoute", connections);
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(client, "socketTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(client, "poolWaitTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(client, "keepAliveSeconds", 30L);
+        ReflectionTestUtils.setField(client, "idleEvictionSeconds", 30L);
+        ReflectionTestUtils.setField(client, "asyncMaxTotal", 1);
+        ReflectionTestUtils.setField(client, "asyncMaxPerRoute", 1);
+        ReflectionTestUtils.setField(client, "requestDeadlineMs", 3000L);
+        ReflectionTestUtils.setField(client, "bulkheadMaxConcurrent", connections);
+        ReflectionTestUtils.setField(client, "bulkheadMaxWaitMs", 30000L);
+        client.init();
+        return client;
+    }
+
+    private static void run(String label, AsyncTaskExecutor executor, JavaEEGraphQLClient client,
+                            int concurrency, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicLong failed = new AtomicLong();
+        Map<String, Object> query = Map.of("query", "{ book(id: 1) { id title } }");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            executor.execute(() -> {
+                try {
+                    if (client.execute(query, "load") == null) {
+                        failed.incrementAndGet();
+                    }
+                    Thread.sleep(MONGO_LATENCY_MS);
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-10s %10.0f %12d %10d%n", label, requests * 1000.0 / Math.max(1, elapsedMs), elapsedMs,
+                failed.get());
+    }
+}
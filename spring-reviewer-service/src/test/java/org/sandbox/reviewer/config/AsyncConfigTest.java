@@ -0,0 +1,54 @@
+package org.sandbox.reviewer.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class AsyncConfigTest {
+
+    @Test
+    void testPlatformThreadPoolByDefault() {
+        AsyncTaskExecutor executor = newConfig(false).reviewQueryExecutor();
+
+        ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        assertEquals(4, pool.getMaxPoolSize());
+        pool.shutdown();
+    }
+
+    @Test
+    void testVirtualThreadsOnlyOnJdk21() throws Exception {
+        AsyncTaskExecutor executor = newConfig(true).reviewQueryExecutor();
+
+        if (Runtime.version().feature() >= 21) {
+            assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+            Object isVirtual = CompletableFuture.supplyAsync(
+                    () -> invokeIsVirtual(Thread.currentThread()), executor).get(5, TimeUnit.SECONDS);
+            assertEquals(Boolean.TRUE, isVirtual);
+        } else {
+            // Falls back to the pool instead of failing startup
+            assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+
+    private static AsyncConfig newConfig(boolean virtualThreads) {
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "poolSize", 4);
+        ReflectionTestUtils.setField(config, "queueCapacity", 10);
+        ReflectionTestUtils.setField(config, "virtualThreads", virtualThreads);
+        return config;
+    }
+
+    private static Object invokeIsVirtual(Thread thread) {
+        // Thread.isVirtual() does not exist in the JDK 17 API the build compiles against
+        return ReflectionTestUtils.invokeMethod(thread, "isVirtual");
+    }
+}
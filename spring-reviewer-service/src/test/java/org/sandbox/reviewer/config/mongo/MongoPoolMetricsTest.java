@@ -0,0 +1,52 @@
+package org.sandbox.reviewer.config.mongo;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MongoPoolMetricsTest {
+
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress("localhost", 27017));
+    private final ConnectionId connectionId = new ConnectionId(serverId);
+
+    @Test
+    void testCheckoutLatencyAndWaitQueue() {
+        MongoPoolMetrics metrics = new MongoPoolMetrics();
+
+        metrics.connectionCreated(new ConnectionCreatedEvent(connectionId));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 2));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 3));
+
+        Map<String, Object> waiting = metrics.getStats();
+        assertEquals(3, waiting.get("waitQueueSize"));
+
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, TimeUnit.MILLISECONDS.toNanos(2)));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 2, TimeUnit.MILLISECONDS.toNanos(6)));
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 3,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(2000)));
+        metrics.connectionCheckedIn(new ConnectionCheckedInEvent(connectionId, 1));
+
+        Map<String, Object> stats = metrics.getStats();
+        assertEquals(1, stats.get("open"));
+        assertEquals(1, stats.get("checkedOut"));
+        assertEquals(0, stats.get("waitQueueSize"));
+        assertEquals(3L, stats.get("maxWaitQueueSize"));
+        assertEquals(2L, stats.get("checkouts"));
+        assertEquals(4.0, stats.get("avgCheckoutMs"));
+        assertEquals(6.0, stats.get("maxCheckoutMs"));
+        assertEquals(1L, stats.get("checkoutTimeouts"));
+    }
+}
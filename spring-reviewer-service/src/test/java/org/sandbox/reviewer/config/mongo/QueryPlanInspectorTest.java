@@ -0,0 +1,53 @@
+package org.sandbox.reviewer.config.mongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlanInspectorTest {
+
+    @Test
+    void testCollectionScanIsDetected() {
+        Document explain = explain(new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN")));
+
+        assertTrue(QueryPlanInspector.isCollectionScan(explain));
+        assertEquals(List.of("SORT", "COLLSCAN"), QueryPlanInspector.winningPlanStages(explain));
+    }
+
+    @Test
+    void testIndexScanIsNotCollectionScan() {
+        Document explain = explain(new Document("stage", "LIMIT")
+                .append("inputStage", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "IXSCAN")
+                                .append("indexName", "bookId_timestamp_id"))));
+
+        assertFalse(QueryPlanInspector.isCollectionScan(explain));
+        assertEquals(List.of("LIMIT", "FETCH", "IXSCAN"), QueryPlanInspector.winningPlanStages(explain));
+    }
+
+    @Test
+    void testSlotBasedEnginePlanAndOrBranches() {
+        Document orPlan = new Document("stage", "OR").append("inputStages", List.of(
+                new Document("stage", "IXSCAN"),
+                new Document("stage", "COLLSCAN")));
+        Document explain = explain(new Document("queryPlan", orPlan).append("slotBasedPlan", new Document()));
+
+        assertTrue(QueryPlanInspector.isCollectionScan(explain));
+        assertEquals(List.of("OR", "IXSCAN", "COLLSCAN"), QueryPlanInspector.winningPlanStages(explain));
+    }
+
+    @Test
+    void testMissingQueryPlanner() {
+        assertFalse(QueryPlanInspector.isCollectionScan(new Document("ok", 1)));
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
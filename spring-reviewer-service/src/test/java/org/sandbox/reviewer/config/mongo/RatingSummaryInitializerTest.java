@@ -0,0 +1,62 @@
+package org.sandbox.reviewer.config.mongo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.service.RatingSummaryService;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingSummaryInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+
+    @InjectMocks
+    private RatingSummaryInitializer ratingSummaryInitializer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testBackfillIfEmpty_RebuildsWhenReviewsHaveNoSummaries() {
+        when(mongoTemplate.estimatedCount(BookRatingSummary.class)).thenReturn(0L);
+        when(mongoTemplate.exists(any(Query.class), eq(Review.class))).thenReturn(true);
+        when(ratingSummaryService.rebuildAll()).thenReturn(42L);
+
+        assertEquals(42L, ratingSummaryInitializer.backfillIfEmpty());
+    }
+
+    @Test
+    void testBackfillIfEmpty_KeepsExistingSummaries() {
+        when(mongoTemplate.estimatedCount(BookRatingSummary.class)).thenReturn(10L);
+
+        assertEquals(0L, ratingSummaryInitializer.backfillIfEmpty());
+        verifyNoInteractions(ratingSummaryService);
+    }
+
+    @Test
+    void testBackfillIfEmpty_NothingToDoWithoutReviews() {
+        when(mongoTemplate.estimatedCount(BookRatingSummary.class)).thenReturn(0L);
+        when(mongoTemplate.exists(any(Query.class), eq(Review.class))).thenReturn(false);
+
+        assertEquals(0L, ratingSummaryInitializer.backfillIfEmpty());
+        verifyNoInteractions(ratingSummaryService);
+    }
+}
@@ -0,0 +1,90 @@
+package org.sandbox.reviewer.config.mongo;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.Review;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    @InjectMocks
+    private ReviewIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testEnsureIndexes_CreatesIndexesDeclaredOnReview() {
+        when(mongoTemplate.indexOps(Review.class)).thenReturn(indexOperations);
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+
+        indexInitializer.ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, times(3)).createIndex(indexes.capture());
+        List<String> names = indexes.getAllValues().stream()
+                .map(index -> index.getIndexOptions().getString("name"))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of("bookId_timestamp_id", "reviewerName", "timestamp_id"), names);
+        indexes.getAllValues().forEach(index -> assertTrue(index.getIndexOptions().getBoolean("background")));
+    }
+
+    @Test
+    void testCheckQueryPlans_ReportsCollectionScans() {
+        Document indexScan = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"))));
+        Document collectionScan = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "COLLSCAN")));
+
+        when(mongoTemplate.getCollectionName(Review.class)).thenReturn("reviews");
+        when(mongoTemplate.getCollection("reviews")).thenReturn(collection);
+        when(collection.find(any(Document.class))).thenReturn(findIterable);
+        when(findIterable.sort(any())).thenReturn(findIterable);
+        when(findIterable.limit(1)).thenReturn(findIterable);
+        when(findIterable.explain()).thenReturn(indexScan, indexScan, collectionScan);
+
+        Map<String, Document> collectionScans = indexInitializer.checkQueryPlans();
+
+        assertEquals(List.of("reviews by reviewer"), List.copyOf(collectionScans.keySet()));
+    }
+}
@@ -0,0 +1,62 @@
+package org.sandbox.reviewer.config.redis;
+
+import org.sandbox.reviewer.model.Book;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares payload size and encode/decode cost of the Redis value serializers for a cached book.
+ * Run with {@code gradle serializerBenchmark}; numbers are indicative, not a JMH measurement.
+ */
+public class BookRedisSerializerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Book typical = new Book(12345L, "The Pragmatic Programmer", "Andrew Hunt, David Thomas", 1999);
+        Book large = new Book(12345L, "Lorem ipsum dolor sit amet ".repeat(40), "Some Author", 2001);
+
+        Map<String, RedisSerializer<?>> serializers = new LinkedHashMap<>();
+        serializers.put("binary", new BookRedisSerializer());
+        serializers.put("json", new JacksonJsonRedisSerializer<>(Book.class));
+        serializers.put("jdk", new JdkSerializationRedisSerializer());
+
+        System.out.printf("%-8s %-8s %10s %14s %14s%n", "format", "value", "bytes", "encode ns/op", "decode ns/op");
+        for (Map.Entry<String, RedisSerializer<?>> entry : serializers.entrySet()) {
+            run(entry.getKey(), "typical", entry.getValue(), typical);
+            run(entry.getKey(), "large", entry.getValue(), large);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void run(String format, String label, RedisSerializer<?> serializer, Book book) {
+        RedisSerializer<Object> s = (RedisSerializer<Object>) serializer;
+        byte[] bytes = s.serialize(book);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += s.serialize(book).length;
+            sink += s.deserialize(bytes) == null ? 0 : 1;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += s.serialize(book).length;
+        }
+        long encodeNs = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += s.deserialize(bytes) == null ? 0 : 1;
+        }
+        long decodeNs = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        System.out.printf("%-8s %-8s %10d %14d %14d%s%n", format, label, bytes.length, encodeNs, decodeNs,
+                sink == 42 ? " " : "");
+    }
+}
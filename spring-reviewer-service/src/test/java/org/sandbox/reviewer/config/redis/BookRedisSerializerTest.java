@@ -0,0 +1,81 @@
+package org.sandbox.reviewer.config.redis;
+
+import org.junit.jupiter.api.Test;
+import org.sandbox.reviewer.model.Book;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookRedisSerializerTest {
+
+    private final BookRedisSerializer serializer = new BookRedisSerializer(64);
+
+    @Test
+    void testRoundTrip() {
+        Book book = new Book(42L, "Война и мир", "Лев Толстой", 1869);
+
+        byte[] bytes = serializer.serialize(book);
+        Book copy = (Book) serializer.deserialize(bytes);
+
+        assertEquals(BookRedisSerializer.VERSION, bytes[0]);
+        assertBookEquals(book, copy);
+    }
+
+    @Test
+    void testRoundTrip_NullFieldsAndNegativeYear() {
+        Book book = new Book(null, null, -350);
+
+        Book copy = (Book) serializer.deserialize(serializer.serialize(book));
+
+        assertBookEquals(book, copy);
+    }
+
+    @Test
+    void testLargeValueIsCompressed() {
+        Book book = new Book(1L, "A".repeat(2000), "Author", 2020);
+
+        byte[] bytes = serializer.serialize(book);
+        Book copy = (Book) serializer.deserialize(bytes);
+
+        assertEquals(1, bytes[1] & 0x01);
+        assertTrue(bytes.length < 200);
+        assertBookEquals(book, copy);
+    }
+
+    @Test
+    void testSmallerThanJdkSerialization() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+
+        byte[] binary = serializer.serialize(book);
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(book);
+
+        assertTrue(binary.length * 4 < jdk.length);
+    }
+
+    @Test
+    void testReadsLegacyJdkPayload() {
+        Book book = new Book(7L, "Legacy", "Author", 1999);
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize(book);
+
+        assertBookEquals(book, (Book) serializer.deserialize(legacy));
+    }
+
+    @Test
+    void testUnknownVersion() {
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{99, 0, 0}));
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    private static void assertBookEquals(Book expected, Book actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAuthor(), actual.getAuthor());
+        assertEquals(expected.getYear(), actual.getYear());
+    }
+}
@@ -0,0 +1,37 @@
+package org.sandbox.reviewer.config.redis;
+
+import org.junit.jupiter.api.Test;
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BookTombstone;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TombstoneRedisSerializerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTombstoneRoundTripWithEveryFormat() {
+        List<RedisSerializer<?>> formats = List.of(new BookRedisSerializer(),
+                new JacksonJsonRedisSerializer<>(Book.class), new JdkSerializationRedisSerializer());
+        for (RedisSerializer<?> format : formats) {
+            TombstoneRedisSerializer serializer = new TombstoneRedisSerializer((RedisSerializer<Object>) format);
+
+            assertSame(BookTombstone.INSTANCE, serializer.deserialize(serializer.serialize(BookTombstone.INSTANCE)));
+            Book copy = (Book) serializer.deserialize(serializer.serialize(new Book(1L, "Test Book", "Author", 2023)));
+            assertEquals("Test Book", copy.getTitle());
+        }
+    }
+
+    @Test
+    void testTombstoneIsOneByte() {
+        TombstoneRedisSerializer serializer = new TombstoneRedisSerializer(new BookRedisSerializer());
+
+        assertArrayEquals(new byte[]{0}, serializer.serialize(BookTombstone.INSTANCE));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+}
@@ -0,0 +1,86 @@
+package org.sandbox.reviewer.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.ReactiveReviewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveReviewControllerTest {
+
+    @Mock
+    private ReactiveReviewService reactiveReviewService;
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private ReactiveReviewController reactiveReviewController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_Success() {
+        Review review = new Review("1", "John Doe", 5, "Great book!");
+        RatingStats ratingStats = new RatingStats("1");
+        ratingStats.addRatings(5, 1);
+        when(bookService.getBookByIdAsync("1"))
+                .thenReturn(CompletableFuture.completedFuture(new Book(1L, "Test Book", "Test Author", 2023)));
+        when(reactiveReviewService.getReviewsPageByBookId("1", null, 20))
+                .thenReturn(Mono.just(new ReviewPage(List.of(review), null)));
+        when(reactiveReviewService.getRatingStatsForBook("1")).thenReturn(Mono.just(ratingStats));
+
+        ResponseEntity<?> response = reactiveReviewController.getReviewsPageByBookId("1", null, 20).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> responseBody = (Map<String, Object>) response.getBody();
+        assertEquals(List.of(review), responseBody.get("reviews"));
+        assertEquals(5.0, responseBody.get("averageRating"));
+    }
+
+    @Test
+    void testGetAverageRatingForBook_BookNotFound() {
+        when(bookService.getBookByIdAsync("1")).thenReturn(CompletableFuture.completedFuture(null));
+
+        ResponseEntity<?> response = reactiveReviewController.getAverageRatingForBook("1").block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("Book with ID 1 not found", response.getBody());
+        verify(reactiveReviewService, never()).getRatingStatsForBook("1");
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_InvalidCursor() {
+        when(reactiveReviewService.getReviewsPageByBookId("1", "garbage", 20))
+                .thenThrow(new IllegalArgumentException("Invalid page cursor"));
+
+        ResponseEntity<?> response = reactiveReviewController.getReviewsPageByBookId("1", "garbage", 20).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid page cursor", response.getBody());
+        verify(bookService, never()).getBookByIdAsync("1");
+    }
+}
@@ -1,8 +1,14 @@
 package org.sandbox.reviewer.controller;
 
+import org.sandbox.reviewer.config.web.WebConfig;
 import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BulkImportResult;
+import org.sandbox.reviewer.model.RatingStats;
 import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.sandbox.reviewer.resilience.CallNotPermittedException;
 import org.sandbox.reviewer.service.BookService;
+import org.sandbox.reviewer.service.ReviewImportService;
 import org.sandbox.reviewer.service.ReviewService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +17,30 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,12 +53,16 @@ class ReviewControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private ReviewImportService reviewImportService;
+
     @InjectMocks
     private ReviewController reviewController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reviewController, "reviewQueryExecutor", (Executor) Runnable::run);
     }
 
     @Test
@@ -167,6 +192,40 @@ class ReviewControllerTest {
         verify(reviewService, never()).saveReview(any(Review.class));
     }
 
+    @Test
+    void testImportReviews_Success() {
+        List<Review> reviews = Arrays.asList(new Review("1", "John Doe", 5, "Great book!"), new Review());
+        BulkImportResult result = new BulkImportResult(2, 1,
+                List.of(new BulkImportResult.ItemError(1, "Book ID cannot be null or empty")));
+        when(reviewImportService.importReviews(reviews)).thenReturn(result);
+
+        ResponseEntity<?> response = reviewController.importReviews(reviews);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void testImportReviews_TooMany() {
+        when(reviewImportService.importReviews(anyList()))
+                .thenThrow(new IllegalArgumentException("At most 10000 reviews can be imported at once"));
+
+        ResponseEntity<?> response = reviewController.importReviews(List.of(new Review()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("At most 10000 reviews can be imported at once", response.getBody());
+    }
+
+    @Test
+    void testImportReviews_CircuitOpen() {
+        when(reviewImportService.importReviews(anyList())).thenThrow(new CallNotPermittedException("circuit is open"));
+
+        ResponseEntity<?> response = reviewController.importReviews(List.of(new Review()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     void testGetReviewsByBookId_Success() {
         String bookId = "1";
@@ -175,11 +234,15 @@ class ReviewControllerTest {
         Review review2 = new Review("1", "Jane Smith", 4, "Good read");
         List<Review> reviews = Arrays.asList(review1, review2);
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
-        when(reviewService.getReviewsByBookId(bookId)).thenReturn(reviews);
-        when(reviewService.getAverageRatingForBook(bookId)).thenReturn(4.5);
+        RatingStats ratingStats = new RatingStats(bookId);
+        ratingStats.addRatings(5, 1);
+        ratingStats.addRatings(4, 1);
 
-        ResponseEntity<?> response = reviewController.getReviewsByBookId(bookId);
+        when(bookService.getBookByIdAsync(bookId)).thenReturn(CompletableFuture.completedFuture(book));
+        when(reviewService.getReviewsPageByBookId(bookId, null, 20)).thenReturn(new ReviewPage(reviews, "next"));
+        when(reviewService.getRatingStatsForBook(bookId)).thenReturn(ratingStats);
+
+        ResponseEntity<?> response = reviewController.getReviewsByBookId(bookId, null, 20).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertInstanceOf(Map.class, response.getBody());
@@ -189,35 +252,79 @@ class ReviewControllerTest {
         assertEquals(bookId, responseBody.get("bookId"));
         assertEquals(4.5, responseBody.get("averageRating"));
         assertEquals(2, ((List<?>) responseBody.get("reviews")).size());
+        assertEquals("next", responseBody.get("nextCursor"));
+        assertEquals(ratingStats.getHistogram(), responseBody.get("ratingHistogram"));
 
-        verify(bookService).getBookById(bookId);
-        verify(reviewService).getReviewsByBookId(bookId);
-        verify(reviewService).getAverageRatingForBook(bookId);
+        verify(bookService).getBookByIdAsync(bookId);
+        verify(reviewService).getReviewsPageByBookId(bookId, null, 20);
+        verify(reviewService).getRatingStatsForBook(bookId);
+    }
+
+    @Test
+    void testGetReviewsByBookId_QueriesStartBeforeBookIsKnown() {
+        String bookId = "1";
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(reviewController, "reviewQueryExecutor", (Executor) queued::add);
+        CompletableFuture<Book> book = new CompletableFuture<>();
+        when(bookService.getBookByIdAsync(bookId)).thenReturn(book);
+        when(reviewService.getReviewsPageByBookId(bookId, null, 20)).thenReturn(new ReviewPage(List.of(), null));
+        when(reviewService.getRatingStatsForBook(bookId)).thenReturn(new RatingStats(bookId));
+
+        CompletableFuture<ResponseEntity<?>> response = reviewController.getReviewsByBookId(bookId, null, 20);
+
+        assertEquals(2, queued.size());
+        queued.forEach(Runnable::run);
+        assertFalse(response.isDone());
+        book.complete(new Book(1L, "Test Book", "Test Author", 2023));
+        assertEquals(HttpStatus.OK, response.join().getStatusCode());
     }
 
     @Test
     void testGetReviewsByBookId_BookNotFound() {
         String bookId = "1";
-        when(bookService.getBookById(bookId)).thenReturn(null);
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(reviewController, "reviewQueryExecutor", (Executor) queued::add);
+        CompletableFuture<Book> book = new CompletableFuture<>();
+        when(bookService.getBookByIdAsync(bookId)).thenReturn(book);
+
+        CompletableFuture<ResponseEntity<?>> response = reviewController.getReviewsByBookId(bookId, null, 20);
+        book.complete(null);
+        queued.forEach(Runnable::run);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.join().getStatusCode());
+        assertEquals("Book with ID 1 not found", response.join().getBody());
+        verify(bookService).getBookByIdAsync(bookId);
+        verify(reviewService, never()).getReviewsPageByBookId(anyString(), any(), anyInt());
+        verify(reviewService, never()).getRatingStatsForBook(anyString());
+    }
 
-        ResponseEntity<?> response = reviewController.getReviewsByBookId(bookId);
+    @Test
+    void testGetReviewsByBookId_InvalidCursor() {
+        String bookId = "1";
+        when(bookService.getBookByIdAsync(bookId))
+                .thenReturn(CompletableFuture.completedFuture(new Book(1L, "Test Book", "Test Author", 2023)));
+        when(reviewService.getReviewsPageByBookId(bookId, "garbage", 20))
+                .thenThrow(new IllegalArgumentException("Invalid page cursor"));
+        when(reviewService.getRatingStatsForBook(bookId)).thenReturn(new RatingStats(bookId));
 
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        assertEquals("Book with ID 1 not found", response.getBody());
-        verify(bookService).getBookById(bookId);
-        verify(reviewService, never()).getReviewsByBookId(anyString());
+        ResponseEntity<?> response = reviewController.getReviewsByBookId(bookId, "garbage", 20).join();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid page cursor", response.getBody());
     }
 
     @Test
     void testGetAverageRatingForBook_Success() {
         String bookId = "1";
         Book book = new Book(1L, "Test Book", "Test Author", 2023);
-        double averageRating = 4.2;
+        RatingStats ratingStats = new RatingStats(bookId);
+        ratingStats.addRatings(5, 1);
+        ratingStats.addRatings(4, 4);
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
-        when(reviewService.getAverageRatingForBook(bookId)).thenReturn(averageRating);
+        when(bookService.getBookByIdAsync(bookId)).thenReturn(CompletableFuture.completedFuture(book));
+        when(reviewService.getRatingStatsForBook(bookId)).thenReturn(ratingStats);
 
-        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId);
+        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertInstanceOf(Map.class, response.getBody());
@@ -225,23 +332,49 @@ class ReviewControllerTest {
         @SuppressWarnings("unchecked")
         Map<String, Object> responseBody = (Map<String, Object>) response.getBody();
         assertEquals(bookId, responseBody.get("bookId"));
-        assertEquals(averageRating, responseBody.get("averageRating"));
+        assertEquals(4.2, responseBody.get("averageRating"));
+        assertEquals(5L, responseBody.get("reviewCount"));
 
-        verify(bookService).getBookById(bookId);
-        verify(reviewService).getAverageRatingForBook(bookId);
+        verify(bookService).getBookByIdAsync(bookId);
+        verify(reviewService).getRatingStatsForBook(bookId);
     }
 
     @Test
     void testGetAverageRatingForBook_BookNotFound() {
         String bookId = "1";
-        when(bookService.getBookById(bookId)).thenReturn(null);
+        when(bookService.getBookByIdAsync(bookId)).thenReturn(CompletableFuture.completedFuture(null));
 
-        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId);
+        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId).join();
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Book with ID 1 not found", response.getBody());
-        verify(bookService).getBookById(bookId);
-        verify(reviewService, never()).getAverageRatingForBook(anyString());
+        verify(bookService).getBookByIdAsync(bookId);
+        verify(reviewService, never()).getRatingStatsForBook(anyString());
+    }
+
+    @Test
+    void testGetAverageRatingForBook_LookupFails() {
+        String bookId = "1";
+        when(bookService.getBookByIdAsync(bookId))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId).join();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verify(reviewService, never()).getRatingStatsForBook(anyString());
+    }
+
+    @Test
+    void testGetAverageRatingForBook_CircuitOpen() {
+        String bookId = "1";
+        when(bookService.getBookByIdAsync(bookId))
+                .thenReturn(CompletableFuture.failedFuture(new CallNotPermittedException("circuit is open")));
+
+        ResponseEntity<?> response = reviewController.getAverageRatingForBook(bookId).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(reviewService, never()).getRatingStatsForBook(anyString());
     }
 
     @Test
@@ -250,23 +383,47 @@ class ReviewControllerTest {
         Review review2 = new Review("2", "Jane Smith", 4, "Good read");
         List<Review> reviews = Arrays.asList(review1, review2);
 
-        when(reviewService.getAllReviews()).thenReturn(reviews);
+        ReviewPage page = new ReviewPage(reviews, null);
+
+        when(reviewService.getReviewsPage(null, 20)).thenReturn(page);
 
-        ResponseEntity<?> response = reviewController.getAllReviews();
+        ResponseEntity<?> response = reviewController.getReviews(null, 20);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(reviews, response.getBody());
-        verify(reviewService).getAllReviews();
+        assertEquals(page, response.getBody());
+        verify(reviewService).getReviewsPage(null, 20);
     }
 
     @Test
     void testGetAllReviews_Error() {
-        when(reviewService.getAllReviews()).thenThrow(new RuntimeException("Database error"));
+        when(reviewService.getReviewsPage(null, 20)).thenThrow(new RuntimeException("Database error"));
 
-        ResponseEntity<?> response = reviewController.getAllReviews();
+        ResponseEntity<?> response = reviewController.getReviews(null, 20);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(reviewService).getAllReviews();
+        verify(reviewService).getReviewsPage(null, 20);
+    }
+
+    @Test
+    void testExportReviews_Gzip() throws Exception {
+        when(reviewService.exportReviews(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"bookId\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        WebRequest request = mock(WebRequest.class);
+
+        ResponseEntity<StreamingResponseBody> response = reviewController.exportReviews(true, request);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        verify(request).setAttribute(eq(WebConfig.ASYNC_TIMEOUT_ATTRIBUTE), any(Long.class), eq(RequestAttributes.SCOPE_REQUEST));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals("{\"bookId\":\"1\"}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
     }
 
     @Test
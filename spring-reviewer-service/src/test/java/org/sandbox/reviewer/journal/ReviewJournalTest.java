@@ -0,0 +1,128 @@
+package org.sandbox.reviewer.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUnflushedRecordsAreRecoveredAfterReopen() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, true)) {
+            long first = journal.append(bytes("one"), 0);
+            journal.append(bytes("two"), 0);
+            journal.append(bytes("three"), 0);
+            journal.checkpoint(first);
+        }
+
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, true)) {
+            assertEquals(List.of("two", "three"), payloads(journal.recoveredEntries()));
+        }
+    }
+
+    @Test
+    void testTornRecordIsIgnored() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        long end;
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, true)) {
+            journal.append(bytes("kept"), 0);
+            end = journal.append(bytes("torn"), 0);
+        }
+        // Corrupt the last payload byte, as if the process died before the write reached the page
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), end - 1);
+        }
+
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, true)) {
+            assertEquals(List.of("kept"), payloads(journal.recoveredEntries()));
+            journal.append(bytes("next"), 0);
+        }
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, true)) {
+            assertEquals(List.of("kept", "next"), payloads(journal.recoveredEntries()));
+        }
+    }
+
+    @Test
+    void testFullJournalTimesOutUntilCheckpointFreesSpace() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        byte[] record = new byte[40];
+        try (ReviewJournal journal = new ReviewJournal(file, 128, false)) {
+            journal.append(record, 0);
+            long second = journal.append(record, 0);
+
+            assertThrows(TimeoutException.class, () -> journal.append(record, 10));
+
+            journal.checkpoint(second);
+            journal.append(record, 0);
+            assertEquals(record.length + 8, journal.pendingBytes());
+        }
+    }
+
+    @Test
+    void testCompactionKeepsLogicalOffsetsAndRecords() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        try (ReviewJournal journal = new ReviewJournal(file, 256, false)) {
+            long last = 0;
+            for (int i = 0; i < 20; i++) {
+                last = journal.append(bytes("record-" + i), 0);
+                journal.checkpoint(last);
+            }
+            assertEquals(0, journal.pendingBytes());
+            assertTrue(last > 256, "offsets keep growing across compactions");
+
+            long pending = journal.append(bytes("pending"), 0);
+            assertTrue(pending > last);
+        }
+        try (ReviewJournal journal = new ReviewJournal(file, 256, false)) {
+            assertEquals(List.of("pending"), payloads(journal.recoveredEntries()));
+        }
+    }
+
+    @Test
+    void testCapacityMismatchIsRejected() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        new ReviewJournal(file, 4096, false).close();
+
+        assertThrows(IllegalStateException.class, () -> new ReviewJournal(file, 8192, false));
+    }
+
+    @Test
+    void testSecondWriterIsRejectedWhileJournalIsOpen() throws Exception {
+        Path file = tempDir.resolve("reviews.journal");
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, false)) {
+            journal.append(bytes("first"), 0);
+
+            assertThrows(IllegalStateException.class, () -> new ReviewJournal(file, 4096, false));
+        }
+
+        try (ReviewJournal journal = new ReviewJournal(file, 4096, false)) {
+            assertEquals(List.of("first"), payloads(journal.recoveredEntries()));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<ReviewJournal.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new String(entry.getPayload(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+}
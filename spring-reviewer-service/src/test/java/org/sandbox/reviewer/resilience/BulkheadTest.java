@@ -0,0 +1,34 @@
+package org.sandbox.reviewer.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+
+    @Test
+    void testRejectsCallsOverTheLimit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(2, 10);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquireNow());
+        assertFalse(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquireNow());
+
+        assertEquals(2, bulkhead.getStats().get("activeCalls"));
+        assertEquals(2L, bulkhead.getStats().get("rejected"));
+    }
+
+    @Test
+    void testReleasedSlotIsReused() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 0);
+        assertTrue(bulkhead.tryAcquire());
+
+        bulkhead.release();
+
+        assertTrue(bulkhead.tryAcquireNow());
+        assertEquals(0L, bulkhead.getStats().get("rejected"));
+    }
+}
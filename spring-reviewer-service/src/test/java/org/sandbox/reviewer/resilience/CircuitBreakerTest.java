@@ -0,0 +1,141 @@
+package org.sandbox.reviewer.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        // 50% failures or 80% calls of 200 ms+ over the last 10 calls, at least 4 recorded; open 1 s, 2 probes
+        breaker = new CircuitBreaker("test", 50, 80, 200, 10, 4, 1000, 2, now::get);
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        record(3, FAST, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testOpensOnFailureRate() {
+        record(2, FAST, false);
+        record(1, FAST, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(1, FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1L, breaker.getStats().get("notPermitted"));
+    }
+
+    @Test
+    void testOpensOnSlowCallRate() {
+        record(1, FAST, false);
+        record(3, SLOW, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        record(1, SLOW, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        breaker = new CircuitBreaker("test", 50, 80, 200, 4, 4, 1000, 2, now::get);
+        record(3, FAST, false);
+        record(1, FAST, true);
+        // Window is now [ok, ok, ok, failed]; each new success evicts the oldest outcome
+        record(4, FAST, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0f, breaker.getStats().get("failureRate"));
+    }
+
+    @Test
+    void testHalfOpenProbesCloseTheCircuit() {
+        record(4, FAST, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission()); // only two probes
+        breaker.onResult(FAST, false);
+        breaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getStats().get("bufferedCalls"));
+        assertTransitions(Map.of("CLOSED_TO_OPEN", 1L, "OPEN_TO_HALF_OPEN", 1L, "HALF_OPEN_TO_CLOSED", 1L));
+    }
+
+    @Test
+    void testFailedProbeReopensTheCircuit() {
+        record(4, FAST, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        record(1, FAST, false);
+        record(1, FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertTransitions(Map.of("CLOSED_TO_OPEN", 1L, "OPEN_TO_HALF_OPEN", 1L, "HALF_OPEN_TO_OPEN", 1L));
+    }
+
+    @Test
+    void testReleasedProbeCanBeTakenAgain() {
+        record(4, FAST, true);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testResultsWhileOpenAreDropped() {
+        record(4, FAST, true);
+
+        breaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(4, breaker.getStats().get("bufferedCalls"));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("test", 50, 80, 200, 4, 5, 1000, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("test", 0, 80, 200, 10, 4, 1000, 2));
+    }
+
+    private void record(int calls, long durationNanos, boolean failed) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onResult(durationNanos, failed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertTransitions(Map<String, Long> expected) {
+        assertEquals(expected, Map.copyOf((Map<String, Long>) breaker.getStats().get("transitions")));
+    }
+}
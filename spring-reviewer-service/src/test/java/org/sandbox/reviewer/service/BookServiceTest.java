@@ -0,0 +1,382 @@
+package org.sandbox.reviewer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.client.JavaEEGraphQLClient;
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BookTombstone;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private JavaEEGraphQLClient graphQLClient;
+
+    @InjectMocks
+    private BookService bookService;
+
+    private Cache<String, Book> nearCache;
+
+    private Cache<String, Boolean> missingCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        nearCache = Caffeine.newBuilder().maximumSize(100).recordStats().build();
+        ReflectionTestUtils.setField(bookService, "bookNearCache", nearCache);
+        missingCache = Caffeine.newBuilder().maximumSize(100).build();
+        ReflectionTestUtils.setField(bookService, "missingBookNearCache", missingCache);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Cache fetched books on the calling thread, so assertions see the write
+        ReflectionTestUtils.setField(bookService, "reviewQueryExecutor", (Executor) Runnable::run);
+    }
+
+    // Answer for the pipelined GET + PTTL of a single lookup
+    @SuppressWarnings("unchecked")
+    private void stubRedisRead(Object value, long remainingTtlMs) {
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(Arrays.asList(value, remainingTtlMs));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<String, CompletableFuture<Book>> inFlightFetches() {
+        return (ConcurrentMap<String, CompletableFuture<Book>>) ReflectionTestUtils.getField(bookService, "inFlightFetches");
+    }
+
+    @Test
+    void testGetBookById_RedisHitPopulatesLocalCache() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+        stubRedisRead(book, 3_000_000L);
+
+        assertEquals(book, bookService.getBookById("1"));
+        assertEquals(book, bookService.getBookById("1"));
+
+        // The second call is served from the local cache, and a fresh entry is not refreshed
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        assertEquals(book, nearCache.getIfPresent("book:1"));
+        verifyNoInteractions(graphQLClient);
+    }
+
+    @Test
+    void testInvalidateBookCache_EvictsBothTiers() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+        nearCache.put("book:1", book);
+
+        bookService.invalidateBookCache("1");
+
+        assertNull(nearCache.getIfPresent("book:1"));
+        verify(redisTemplate).delete("book:1");
+    }
+
+    @Test
+    void testGetCacheStats_CountsBothTiers() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+        stubRedisRead(book, 3_000_000L);
+
+        bookService.getBookById("1");
+        bookService.getBookById("1");
+
+        Map<String, Object> stats = bookService.getCacheStats();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> local = (Map<String, Object>) stats.get("local");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> redis = (Map<String, Object>) stats.get("redis");
+        assertEquals(1L, local.get("hits"));
+        assertEquals(1L, local.get("misses"));
+        assertEquals(1L, redis.get("hits"));
+        assertEquals(0L, redis.get("misses"));
+    }
+
+    @Test
+    void testGetBookById_JoinsInFlightFetch() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+        inFlightFetches().put("1", CompletableFuture.completedFuture(book));
+
+        assertEquals(book, bookService.getBookById("1"));
+
+        // The leader owns the Redis write
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetBookById_InFlightFetchTimesOut() {
+        ReflectionTestUtils.setField(bookService, "fetchWaitTimeoutMs", 10L);
+        inFlightFetches().put("1", new CompletableFuture<>());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookService.getBookById("1"));
+        assertEquals("Timed out waiting for book 1", exception.getMessage());
+    }
+
+    @Test
+    void testGetBookByIdAsync_LocalHitCompletesImmediately() {
+        Book book = new Book(1L, "Test Book", "Test Author", 2023);
+        nearCache.put("book:1", book);
+
+        CompletableFuture<Book> result = bookService.getBookByIdAsync("1");
+
+        assertTrue(result.isDone());
+        assertEquals(book, result.join());
+        verifyNoInteractions(graphQLClient);
+    }
+
+    @Test
+    void testGetBookByIdAsync_MissFetchesAndCaches() throws Exception {
+        JsonNode data = new ObjectMapper().readTree("{\"book\":{\"id\":1,\"title\":\"T\",\"author\":\"A\",\"year\":2000}}");
+        when(graphQLClient.executeAsync(anyMap(), eq("1"))).thenReturn(CompletableFuture.completedFuture(data));
+
+        Book book = bookService.getBookByIdAsync("1").join();
+
+        assertEquals("T", book.getTitle());
+        // 3600s with 10% jitter, plus the 300s stale window
+        ArgumentCaptor<Long> ttl = ArgumentCaptor.forClass(Long.class);
+        verify(valueOperations).set(eq("book:1"), any(Book.class), ttl.capture(), eq(TimeUnit.SECONDS));
+        assertTrue(ttl.getValue() >= 3240 + 300 && ttl.getValue() <= 3960 + 300, "TTL " + ttl.getValue());
+        assertTrue(inFlightFetches().isEmpty());
+    }
+
+    @Test
+    void testGetBookById_RefreshAheadServesCachedCopy() throws Exception {
+        Book cached = new Book(1L, "Old Title", "Test Author", 2023);
+        // Inside the last 10% of the TTL (360s), still outside the 300s stale window
+        stubRedisRead(cached, TimeUnit.SECONDS.toMillis(300 + 100));
+        JsonNode data = new ObjectMapper().readTree(
+                "{\"book\":{\"id\":1,\"title\":\"New Title\",\"author\":\"A\",\"year\":2023}}");
+        when(graphQLClient.executeAsync(anyMap(), eq("1"))).thenReturn(CompletableFuture.completedFuture(data));
+
+        assertEquals(cached, bookService.getBookById("1"));
+
+        verify(graphQLClient).executeAsync(anyMap(), eq("1"));
+        verify(valueOperations).set(eq("book:1"), any(Book.class), anyLong(), eq(TimeUnit.SECONDS));
+        assertEquals("New Title", nearCache.getIfPresent("book:1").getTitle());
+        assertTrue(inFlightFetches().isEmpty());
+    }
+
+    @Test
+    void testGetBookById_RefreshCachesOffTheClientCallbackThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "review-query-test"));
+        ReflectionTestUtils.setField(bookService, "reviewQueryExecutor", executor);
+        try {
+            stubRedisRead(new Book(1L, "Old Title", "Test Author", 2023), TimeUnit.SECONDS.toMillis(120));
+            CompletableFuture<JsonNode> call = new CompletableFuture<>();
+            when(graphQLClient.executeAsync(anyMap(), eq("1"))).thenReturn(call);
+            CompletableFuture<String> writerThread = new CompletableFuture<>();
+            doAnswer(invocation -> writerThread.complete(Thread.currentThread().getName()))
+                    .when(valueOperations).set(eq("book:1"), any(Book.class), anyLong(), eq(TimeUnit.SECONDS));
+
+            bookService.getBookById("1");
+            // Completed here, as the client's I/O reactor would
+            call.complete(new ObjectMapper().readTree(
+                    "{\"book\":{\"id\":1,\"title\":\"New Title\",\"author\":\"A\",\"year\":2023}}"));
+
+            assertEquals("review-query-test", writerThread.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetBookByIdAsync_CacheWriteFailureStillReturnsBook() throws Exception {
+        JsonNode data = new ObjectMapper().readTree(
+                "{\"book\":{\"id\":1,\"title\":\"T\",\"author\":\"A\",\"year\":2000}}");
+        when(graphQLClient.executeAsync(anyMap(), eq("1"))).thenReturn(CompletableFuture.completedFuture(data));
+        doThrow(new IllegalStateException("Redis is down"))
+                .when(valueOperations).set(eq("book:1"), any(Book.class), anyLong(), eq(TimeUnit.SECONDS));
+
+        Book book = bookService.getBookByIdAsync("1").join();
+
+        assertEquals("T", book.getTitle());
+        assertTrue(inFlightFetches().isEmpty());
+    }
+
+    @Test
+    void testGetBookByIdAsync_StaleCopyServedWhileRefreshRetries() {
+        Book stale = new Book(1L, "Test Book", "Test Author", 2023);
+        stubRedisRead(stale, TimeUnit.SECONDS.toMillis(120));
+        when(graphQLClient.executeAsync(anyMap(), eq("1")))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("JavaEE app is slow")));
+
+        assertEquals(stale, bookService.getBookByIdAsync("1").join());
+        assertEquals(stale, bookService.getBookByIdAsync("1").join());
+
+        // Not promoted to the local tier; the failed refresh is not retried within the retry interval
+        assertNull(nearCache.getIfPresent("book:1"));
+        verify(graphQLClient, times(1)).executeAsync(anyMap(), eq("1"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> refresh = (Map<String, Object>) bookService.getCacheStats().get("refresh");
+        assertEquals(2L, refresh.get("staleServed"));
+        assertEquals(1L, refresh.get("failures"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetBooksByIds_UsesLocalCacheThenSinglePipelinedRead() {
+        Book book1 = new Book(1L, "Book 1", "Author 1", 2020);
+        Book book2 = new Book(2L, "Book 2", "Author 2", 2021);
+        Book book3 = new Book(3L, "Book 3", "Author 3", 2022);
+        nearCache.put("book:1", book1);
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(Arrays.asList(book3, 3_000_000L, book2, 3_000_000L));
+
+        Map<String, Book> books = bookService.getBooksByIds(List.of("3", "1", "2", "1"));
+
+        assertEquals(List.of("3", "1", "2"), List.copyOf(books.keySet()));
+        assertEquals(book1, books.get("1"));
+        assertEquals(book3, books.get("3"));
+        assertEquals(book2, nearCache.getIfPresent("book:2"));
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verifyNoInteractions(graphQLClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetBooksByIds_StaleCopyIsRefreshedNotPromoted() {
+        Book fresh = new Book(1L, "Book 1", "Author 1", 2020);
+        Book stale = new Book(2L, "Book 2", "Author 2", 2021);
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(Arrays.asList(fresh, 3_000_000L, stale, TimeUnit.SECONDS.toMillis(120)));
+        when(graphQLClient.executeAsync(anyMap(), eq("2"))).thenReturn(new CompletableFuture<>());
+
+        Map<String, Book> books = bookService.getBooksByIds(List.of("1", "2"));
+
+        assertEquals(stale, books.get("2"));
+        assertEquals(fresh, nearCache.getIfPresent("book:1"));
+        assertNull(nearCache.getIfPresent("book:2"));
+        verify(graphQLClient).executeAsync(anyMap(), eq("2"));
+        verify(graphQLClient, never()).executeAsync(anyMap(), eq("1"));
+    }
+
+    @Test
+    void testGetBookByIdAsync_ClientThrowingDoesNotLeaveDeadFetch() {
+        when(graphQLClient.executeAsync(anyMap(), eq("1")))
+                .thenThrow(new IllegalStateException("I/O reactor has been shut down"));
+
+        CompletableFuture<Book> first = bookService.getBookByIdAsync("1");
+        CompletableFuture<Book> second = bookService.getBookByIdAsync("1");
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        // The second call started its own fetch rather than joining the failed one
+        verify(graphQLClient, times(2)).executeAsync(anyMap(), eq("1"));
+        assertTrue(inFlightFetches().isEmpty());
+    }
+
+    @Test
+    void testGetBookById_NotFoundCachesTombstone() throws Exception {
+        JsonNode data = new ObjectMapper().readTree("{\"book\":null}");
+        when(graphQLClient.execute(anyMap(), eq("404"))).thenReturn(data);
+
+        assertNull(bookService.getBookById("404"));
+        assertNull(bookService.getBookById("404"));
+
+        // The second lookup is answered by the local tombstone
+        verify(graphQLClient, times(1)).execute(anyMap(), eq("404"));
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(valueOperations).set("book:404", BookTombstone.INSTANCE, 60L, TimeUnit.SECONDS);
+        assertEquals(Boolean.TRUE, missingCache.getIfPresent("book:404"));
+    }
+
+    @Test
+    void testGetBookById_FailedFetchIsNotTombstoned() {
+        when(graphQLClient.execute(anyMap(), eq("1"))).thenReturn(null);
+
+        assertNull(bookService.getBookById("1"));
+
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+        assertNull(missingCache.getIfPresent("book:1"));
+    }
+
+    @Test
+    void testGetBookByIdAsync_RedisTombstone() {
+        stubRedisRead(BookTombstone.INSTANCE, 50_000L);
+
+        assertNull(bookService.getBookByIdAsync("404").join());
+
+        verifyNoInteractions(graphQLClient);
+        assertEquals(Boolean.TRUE, missingCache.getIfPresent("book:404"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> tombstones = (Map<String, Object>) bookService.getCacheStats().get("tombstones");
+        assertEquals(1L, tombstones.get("hits"));
+    }
+
+    @Test
+    void testInvalidateBookCache_ClearsTombstone() {
+        missingCache.put("book:1", Boolean.TRUE);
+
+        bookService.invalidateBookCache("1");
+
+        assertNull(missingCache.getIfPresent("book:1"));
+        verify(redisTemplate).delete("book:1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetBooksByIds_TombstonesUnknownIds() throws Exception {
+        missingCache.put("book:3", Boolean.TRUE);
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenReturn(Arrays.asList(null, -2L, null, -2L));
+        JsonNode data = new ObjectMapper().readTree(
+                "{\"b0\":{\"id\":1,\"title\":\"T\",\"author\":\"A\",\"year\":2000},\"b1\":null}");
+        when(graphQLClient.execute(anyMap(), anyString())).thenReturn(data);
+
+        Map<String, Book> books = bookService.getBooksByIds(List.of("1", "2", "3"));
+
+        assertEquals(List.of("1"), List.copyOf(books.keySet()));
+        assertEquals(Boolean.TRUE, missingCache.getIfPresent("book:2"));
+        assertNull(missingCache.getIfPresent("book:1"));
+        // One pipelined read, one pipelined write
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void testGetBooksByIds_InvalidBookId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookService.getBooksByIds(Arrays.asList("1", null)));
+        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void testGetBookById_InvalidEmptyBookId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookService.getBookById(""));
+        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+    }
+}
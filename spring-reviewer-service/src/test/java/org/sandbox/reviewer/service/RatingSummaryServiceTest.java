@@ -0,0 +1,117 @@
+package org.sandbox.reviewer.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingSummaryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private RatingSummaryService ratingSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRecordRating_IncrementsCountSumAndHistogram() {
+        ratingSummaryService.recordRating("1", 4, -1);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(BookRatingSummary.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1L, inc.get("count"));
+        assertEquals(-4L, inc.get("sum"));
+        assertEquals(-1L, inc.get("histogram.4"));
+    }
+
+    @Test
+    void testRecordRatings_OneUpsertPerBook() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookRatingSummary.class)).thenReturn(bulk);
+        RatingStats book1 = new RatingStats("1");
+        book1.addRatings(5, 2);
+        book1.addRatings(3, 1);
+        RatingStats book2 = new RatingStats("2");
+        book2.addRatings(1, 1);
+
+        ratingSummaryService.recordRatings(List.of(book1, book2));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), updates.capture());
+        verify(bulk).execute();
+        Document inc = (Document) updates.getAllValues().get(0).getUpdateObject().get("$inc");
+        assertEquals(new Document("count", 3L).append("sum", 13L).append("histogram.3", 1L).append("histogram.5", 2L), inc);
+    }
+
+    @Test
+    void testGetRatingStats_FromSummary() {
+        BookRatingSummary summary = new BookRatingSummary();
+        summary.setBookId("1");
+        summary.setHistogram(Map.of("5", 3L, "1", 1L));
+        when(mongoTemplate.findById("1", BookRatingSummary.class)).thenReturn(summary);
+
+        RatingStats stats = ratingSummaryService.getRatingStats("1");
+
+        assertEquals(4, stats.getCount());
+        assertEquals(16, stats.getSum());
+        assertEquals(4.0, stats.getAverage(), 0.01);
+        assertEquals(Map.of(1, 1L, 2, 0L, 3, 0L, 4, 0L, 5, 3L), stats.getHistogram());
+    }
+
+    @Test
+    void testGetRatingStats_NoSummary() {
+        RatingStats stats = ratingSummaryService.getRatingStats("1");
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getAverage(), 0.01);
+    }
+
+    @Test
+    void testRebuild_OverwritesSummaryFromReviews() {
+        List<Document> buckets = Arrays.asList(
+                new Document("_id", 5).append("count", 3),
+                new Document("_id", 1).append("count", 1L));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(buckets, new Document()));
+
+        RatingStats stats = ratingSummaryService.rebuild("1");
+
+        assertEquals(4, stats.getCount());
+        assertEquals(16, stats.getSum());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(BookRatingSummary.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(4L, set.get("count"));
+        assertEquals(3L, set.get("histogram.5"));
+    }
+}
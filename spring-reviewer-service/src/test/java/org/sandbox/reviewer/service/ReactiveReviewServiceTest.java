@@ -0,0 +1,101 @@
+package org.sandbox.reviewer.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.BookRatingSummary;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveReviewServiceTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @InjectMocks
+    private ReactiveReviewService reactiveReviewService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testStreamReviewsByBookId_NewestFirstInCursorBatches() {
+        Review review1 = new Review("1", "John Doe", 5, "Great book!");
+        Review review2 = new Review("1", "Jane Smith", 4, "Good read");
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(Flux.just(review1, review2));
+
+        List<Review> reviews = reactiveReviewService.streamReviewsByBookId("1").collectList().block();
+
+        assertEquals(List.of(review1, review2), reviews);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(Review.class));
+        assertEquals(new Document("bookId", "1"), query.getValue().getQueryObject());
+        assertEquals(new Document("timestamp", -1).append("id", -1), query.getValue().getSortObject());
+        assertEquals(256, query.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_UsesKeysetPage() {
+        Review review1 = new Review("1", "John Doe", 5, "Great book!");
+        review1.setId("65f000000000000000000002");
+        Review review2 = new Review("1", "Jane Smith", 4, "Good read");
+        review2.setId("65f000000000000000000001");
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(Flux.just(review1, review2));
+
+        ReviewPage page = reactiveReviewService.getReviewsPageByBookId("1", null, 1).block();
+
+        assertEquals(List.of(review1), page.getReviews());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetRatingStatsForBook_NoSummary() {
+        when(reactiveMongoTemplate.findById("1", BookRatingSummary.class)).thenReturn(Mono.empty());
+
+        RatingStats stats = reactiveReviewService.getRatingStatsForBook("1").block();
+
+        assertEquals(0, stats.getCount());
+    }
+
+    @Test
+    void testGetRatingStatsForBook_FromSummary() {
+        BookRatingSummary summary = new BookRatingSummary();
+        summary.setBookId("1");
+        summary.setHistogram(Map.of("4", 2L));
+        when(reactiveMongoTemplate.findById("1", BookRatingSummary.class)).thenReturn(Mono.just(summary));
+
+        RatingStats stats = reactiveReviewService.getRatingStatsForBook("1").block();
+
+        assertEquals(4.0, stats.getAverage(), 0.01);
+    }
+
+    @Test
+    void testStreamReviewsByBookId_InvalidBookId() {
+        assertThrows(IllegalArgumentException.class, () -> reactiveReviewService.streamReviewsByBookId(" "));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+}
@@ -0,0 +1,170 @@
+package org.sandbox.reviewer.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.model.Book;
+import org.sandbox.reviewer.model.BulkImportResult;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.resilience.BulkheadFullException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewImportServiceTest {
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ReviewImportService reviewImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reviewImportService, "chunkSize", 500);
+        ReflectionTestUtils.setField(reviewImportService, "maxReviews", 10000);
+    }
+
+    @Test
+    void testImportReviews_ReportsItemErrorsAndStoresTheRest() {
+        Review good1 = new Review("1", "John Doe", 5, "Great book!");
+        Review invalid = new Review("1", "", 4, "No name");
+        Review unknownBook = new Review("99", "Jane Smith", 4, "Good read");
+        Review duplicate = new Review("1", "Jane Smith", 3, "Okay");
+        Review good2 = new Review("2", "Jack Black", 4, "Fun");
+        List<Review> reviews = Arrays.asList(good1, invalid, unknownBook, duplicate, good2);
+
+        // Validation runs on several threads, so the other items reach the mock in no particular order
+        lenient().doThrow(new IllegalArgumentException("Reviewer name cannot be null or empty"))
+                .when(reviewService).validateReview(invalid);
+        when(bookService.getBooksByIds(List.of("1", "99", "2"))).thenReturn(Map.of(
+                "1", new Book(1L, "Book One", "Author", 2020),
+                "2", new Book(2L, "Book Two", "Author", 2021)));
+
+        BulkWriteError duplicateKey = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        BulkOperationException bulkFailure = mock(BulkOperationException.class);
+        when(bulkFailure.getErrors()).thenReturn(List.of(duplicateKey));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(bulkFailure);
+
+        BulkImportResult result = reviewImportService.importReviews(reviews);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(List.of(1, 2, 3), result.getErrors().stream()
+                .map(BulkImportResult.ItemError::getIndex).collect(Collectors.toList()));
+        assertEquals("Reviewer name cannot be null or empty", result.getErrors().get(0).getMessage());
+        assertEquals("Book with ID 99 not found", result.getErrors().get(1).getMessage());
+        assertEquals("E11000 duplicate key", result.getErrors().get(2).getMessage());
+
+        verify(bulkOperations).insert(List.of(good1, duplicate, good2));
+        verify(bookService, times(1)).getBooksByIds(anyList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<RatingStats>> summaries = ArgumentCaptor.forClass(Collection.class);
+        verify(ratingSummaryService).recordRatings(summaries.capture());
+        Map<String, Long> countsByBook = summaries.getValue().stream()
+                .collect(Collectors.toMap(RatingStats::getBookId, RatingStats::getCount));
+        assertEquals(Map.of("1", 1L, "2", 1L), countsByBook);
+    }
+
+    @Test
+    void testImportReviews_InsertsInChunksWithOneSummaryUpdateEach() {
+        ReflectionTestUtils.setField(reviewImportService, "chunkSize", 2);
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            reviews.add(new Review("1", "Reader " + i, 4, "Comment " + i));
+        }
+        when(bookService.getBooksByIds(List.of("1"))).thenReturn(Map.of("1", new Book(1L, "Book One", "Author", 2020)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkImportResult result = reviewImportService.importReviews(reviews);
+
+        assertEquals(5, result.getInserted());
+        assertEquals(Collections.emptyList(), result.getErrors());
+        verify(bulkOperations, times(3)).execute();
+        verify(ratingSummaryService, times(3)).recordRatings(any());
+    }
+
+    @Test
+    void testImportReviews_FailedChunkMarksEveryItem() {
+        Review review = new Review("1", "John Doe", 5, "Great book!");
+        when(bookService.getBooksByIds(List.of("1"))).thenReturn(Map.of("1", new Book(1L, "Book One", "Author", 2020)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("Connection refused"));
+
+        BulkImportResult result = reviewImportService.importReviews(List.of(review));
+
+        assertEquals(0, result.getInserted());
+        assertEquals("Error saving review: Connection refused", result.getErrors().get(0).getMessage());
+        verify(ratingSummaryService, never()).recordRatings(any());
+    }
+
+    @Test
+    void testImportReviews_BookLookupShedStoresNothing() {
+        when(bookService.getBooksByIds(List.of("1"))).thenThrow(new BulkheadFullException("bulkhead is full"));
+
+        assertThrows(RejectedExecutionException.class,
+                () -> reviewImportService.importReviews(List.of(new Review("1", "John Doe", 5, "Great book!"))));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Review.class));
+        verify(ratingSummaryService, never()).recordRatings(any());
+    }
+
+    @Test
+    void testImportReviews_TooManyReviews() {
+        ReflectionTestUtils.setField(reviewImportService, "maxReviews", 1);
+        List<Review> reviews = Arrays.asList(new Review(), new Review());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reviewImportService.importReviews(reviews));
+        assertEquals("At most 1 reviews can be imported at once", exception.getMessage());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Review.class));
+    }
+
+    @Test
+    void testImportReviews_Empty() {
+        assertThrows(IllegalArgumentException.class, () -> reviewImportService.importReviews(List.of()));
+    }
+}
@@ -1,9 +1,13 @@
 package org.sandbox.reviewer.service;
 
+import org.bson.Document;
+import org.sandbox.reviewer.model.RatingStats;
 import org.sandbox.reviewer.model.Review;
+import org.sandbox.reviewer.model.ReviewPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -12,11 +16,22 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +40,12 @@ class ReviewServiceTest {
     @Mock
     private MongoTemplate mongoTemplate;
 
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+
+    @Mock
+    private WriteBehindReviewWriter writeBehindWriter;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -42,6 +63,35 @@ class ReviewServiceTest {
 
         assertEquals(review, savedReview);
         verify(mongoTemplate).save(review);
+        verify(ratingSummaryService).recordRating("1", 5, 1);
+    }
+
+    @Test
+    void testSaveReview_WriteBehindAssignsIdAndSkipsMongo() {
+        Review review = new Review("1", "John Doe", 5, "Great book!");
+        when(writeBehindWriter.isEnabled()).thenReturn(true);
+
+        Review accepted = reviewService.saveReview(review);
+
+        assertNotNull(accepted.getId());
+        verify(writeBehindWriter).submit(review);
+        verify(mongoTemplate, never()).save(any(Review.class));
+        verify(ratingSummaryService, never()).recordRating(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSaveReview_ExistingReviewMovesRating() {
+        Review previous = new Review("1", "John Doe", 2, "Meh");
+        previous.setId("r1");
+        Review review = new Review("1", "John Doe", 5, "Great book after all!");
+        review.setId("r1");
+        when(mongoTemplate.findById("r1", Review.class)).thenReturn(previous);
+        when(mongoTemplate.save(review)).thenReturn(review);
+
+        reviewService.saveReview(review);
+
+        verify(ratingSummaryService).recordRating("1", 2, -1);
+        verify(ratingSummaryService).recordRating("1", 5, 1);
     }
 
     @Test
@@ -130,66 +180,132 @@ class ReviewServiceTest {
     }
 
     @Test
-    void testGetReviewsByBookId() {
+    void testGetReviewsPageByBookId_InvalidNullBookId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getReviewsPageByBookId(null, null, 20));
+        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_InvalidEmptyBookId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getReviewsPageByBookId("", null, 20));
+        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_FirstPageHasCursor() {
         Review review1 = new Review("1", "John Doe", 5, "Great book!");
+        review1.setId("65f000000000000000000002");
+        review1.setTimestamp(2000L);
         Review review2 = new Review("1", "Jane Smith", 4, "Good read");
-        List<Review> expectedReviews = Arrays.asList(review1, review2);
+        review2.setId("65f000000000000000000001");
+        review2.setTimestamp(1000L);
 
-        Query query = new Query();
-        query.addCriteria(Criteria.where("bookId").is("1"));
+        when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(new ArrayList<>(Arrays.asList(review1, review2)));
+
+        ReviewPage page = reviewService.getReviewsPageByBookId("1", null, 1);
+
+        assertEquals(List.of(review1), page.getReviews());
+        assertNotNull(page.getNextCursor());
 
-        when(mongoTemplate.find(query, Review.class)).thenReturn(expectedReviews);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Review.class));
+        assertEquals(2, query.getValue().getLimit()); // one extra row to detect the next page
+        assertEquals(new Document("timestamp", -1).append("id", -1), query.getValue().getSortObject());
+    }
+
+    @Test
+    void testGetReviewsPageByBookId_CursorSeeksPastLastReview() {
+        Review last = new Review("1", "John Doe", 5, "Great book!");
+        last.setId("65f000000000000000000002");
+        last.setTimestamp(2000L);
+        when(mongoTemplate.find(any(Query.class), eq(Review.class)))
+                .thenReturn(new ArrayList<>(Arrays.asList(last, new Review("1", "Jane Smith", 4, "Good read"))))
+                .thenReturn(new ArrayList<>());
+
+        String cursor = reviewService.getReviewsPageByBookId("1", null, 1).getNextCursor();
+        ReviewPage next = reviewService.getReviewsPageByBookId("1", cursor, 1);
+
+        assertTrue(next.getReviews().isEmpty());
+        assertNull(next.getNextCursor());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Review.class));
+        Document seek = query.getAllValues().get(1).getQueryObject();
+        assertEquals("1", seek.get("bookId"));
+        assertEquals(Arrays.asList(
+                        new Document("timestamp", new Document("$lt", 2000L)),
+                        new Document("timestamp", 2000L).append("id", new Document("$lt", "65f000000000000000000002"))),
+                seek.get("$or"));
+    }
 
-        List<Review> actualReviews = reviewService.getReviewsByBookId("1");
+    @Test
+    void testGetReviewsPage_LimitIsCapped() {
+        when(mongoTemplate.find(any(Query.class), eq(Review.class))).thenReturn(new ArrayList<>());
+
+        reviewService.getReviewsPage(null, 10_000);
 
-        assertEquals(expectedReviews, actualReviews);
-        verify(mongoTemplate).find(query, Review.class);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Review.class));
+        assertEquals(ReviewService.MAX_PAGE_SIZE + 1, query.getValue().getLimit());
     }
 
     @Test
-    void testGetReviewsByBookId_InvalidNullBookId() {
+    void testGetReviewsPage_InvalidCursor() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> reviewService.getReviewsByBookId(null));
-        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+                () -> reviewService.getReviewsPage("not-a-cursor", 20));
+        assertEquals("Invalid page cursor", exception.getMessage());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Review.class));
     }
 
     @Test
-    void testGetReviewsByBookId_InvalidEmptyBookId() {
+    void testGetReviewsPage_InvalidLimit() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> reviewService.getReviewsByBookId(""));
-        assertEquals("Book ID cannot be null or empty", exception.getMessage());
+                () -> reviewService.getReviewsPage(null, 0));
+        assertEquals("Page size must be at least 1", exception.getMessage());
     }
 
     @Test
-    void testGetAverageRatingForBook_WithReviews() {
+    void testExportReviews_WritesOneJsonDocumentPerLine() {
         Review review1 = new Review("1", "John Doe", 5, "Great book!");
-        Review review2 = new Review("1", "Jane Smith", 3, "Average book");
-        List<Review> reviews = Arrays.asList(review1, review2);
+        Review review2 = new Review("2", "Jane Smith", 4, "Good read");
+        when(mongoTemplate.stream(any(Query.class), eq(Review.class))).thenReturn(Stream.of(review1, review2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
-        Query query = new Query();
-        query.addCriteria(Criteria.where("bookId").is("1"));
+        long exported = reviewService.exportReviews(out);
 
-        when(mongoTemplate.find(query, Review.class)).thenReturn(reviews);
+        assertEquals(2, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"reviewerName\":\"John Doe\""));
+        assertTrue(lines[1].contains("\"bookId\":\"2\""));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Review.class));
+        assertEquals(1000, query.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void testGetAverageRatingForBook_WithReviews() {
+        RatingStats stats = new RatingStats("1");
+        stats.addRatings(5, 1);
+        stats.addRatings(3, 1);
+        when(ratingSummaryService.getRatingStats("1")).thenReturn(stats);
 
         double averageRating = reviewService.getAverageRatingForBook("1");
 
         assertEquals(4.0, averageRating, 0.01); // Expected average: (5 + 3) / 2 = 4.0
-        verify(mongoTemplate).find(query, Review.class);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Review.class));
     }
 
     @Test
     void testGetAverageRatingForBook_NoReviews() {
-        List<Review> reviews = List.of();
-
-        Query query = new Query();
-        query.addCriteria(Criteria.where("bookId").is("1"));
-
-        when(mongoTemplate.find(query, Review.class)).thenReturn(reviews);
+        when(ratingSummaryService.getRatingStats("1")).thenReturn(new RatingStats("1"));
 
         double averageRating = reviewService.getAverageRatingForBook("1");
 
         assertEquals(0.0, averageRating, 0.01);
-        verify(mongoTemplate).find(query, Review.class);
     }
 
     @Test
@@ -200,27 +316,24 @@ class ReviewServiceTest {
     }
 
     @Test
-    void testGetAllReviews() {
-        Review review1 = new Review("1", "John Doe", 5, "Great book!");
-        Review review2 = new Review("2", "Jane Smith", 4, "Good read");
-        List<Review> expectedReviews = Arrays.asList(review1, review2);
+    void testDeleteReview() {
+        Query query = new Query();
+        query.addCriteria(Criteria.where("id").is("1"));
 
-        when(mongoTemplate.findAll(Review.class)).thenReturn(expectedReviews);
+        Review removed = new Review("book1", "John Doe", 4, "Good read");
+        when(mongoTemplate.findAndRemove(query, Review.class)).thenReturn(removed);
 
-        List<Review> actualReviews = reviewService.getAllReviews();
+        reviewService.deleteReview("1");
 
-        assertEquals(expectedReviews, actualReviews);
-        verify(mongoTemplate).findAll(Review.class);
+        verify(mongoTemplate).findAndRemove(query, Review.class);
+        verify(ratingSummaryService).recordRating("book1", 4, -1);
     }
 
     @Test
-    void testDeleteReview() {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("id").is("1"));
-
+    void testDeleteReview_NotFound() {
         reviewService.deleteReview("1");
 
-        verify(mongoTemplate).remove(query, Review.class);
+        verify(ratingSummaryService, never()).recordRating(anyString(), anyInt(), anyInt());
     }
 
     @Test
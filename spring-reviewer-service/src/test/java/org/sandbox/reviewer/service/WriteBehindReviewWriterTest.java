@@ -0,0 +1,148 @@
+package org.sandbox.reviewer.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sandbox.reviewer.journal.ReviewJournal;
+import org.sandbox.reviewer.model.RatingStats;
+import org.sandbox.reviewer.model.Review;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindReviewWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private WriteBehindReviewWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "journalPath", tempDir.resolve("reviews.journal").toString());
+        ReflectionTestUtils.setField(writer, "journalSizeMb", 1);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 10L);
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.shutdown();
+    }
+
+    @Test
+    void testSubmittedReviewsAreFlushedAndCounted() throws Exception {
+        writer.init();
+        writer.submit(review("65f000000000000000000001", "1", 5));
+        writer.submit(review("65f000000000000000000002", "1", 3));
+
+        verify(bulkOperations, timeout(2000).atLeastOnce()).execute();
+        writer.shutdown();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<RatingStats>> summaries = ArgumentCaptor.forClass(Collection.class);
+        verify(ratingSummaryService, atLeastOnce()).recordRatings(summaries.capture());
+        long counted = summaries.getAllValues().stream().flatMap(Collection::stream).mapToLong(RatingStats::getCount).sum();
+        assertEquals(2, counted);
+        assertEquals(2L, writer.getStats().get("flushed"));
+        assertEquals(0, writer.getStats().get("journalPendingBytes"));
+    }
+
+    @Test
+    void testJournaledReviewsAreReplayedAndDuplicatesSkipped() throws Exception {
+        try (ReviewJournal journal = new ReviewJournal(tempDir.resolve("reviews.journal"), 1024 * 1024, false)) {
+            journal.append(("{\"id\":\"65f000000000000000000001\",\"bookId\":\"1\",\"reviewerName\":\"John Doe\","
+                    + "\"rating\":5,\"comment\":\"Great\",\"timestamp\":1}").getBytes(), 0);
+            journal.append(("{\"id\":\"65f000000000000000000002\",\"bookId\":\"2\",\"reviewerName\":\"Jane Smith\","
+                    + "\"rating\":4,\"comment\":\"Good\",\"timestamp\":2}").getBytes(), 0);
+        }
+        BulkOperationException alreadyFlushed = mock(BulkOperationException.class);
+        when(alreadyFlushed.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 0)));
+        when(bulkOperations.execute()).thenThrow(alreadyFlushed);
+
+        writer.init();
+        verify(ratingSummaryService, timeout(2000)).recordRatings(anyCollectionOf());
+        writer.shutdown();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<RatingStats>> summaries = ArgumentCaptor.forClass(Collection.class);
+        verify(ratingSummaryService).recordRatings(summaries.capture());
+        RatingStats counted = summaries.getValue().iterator().next();
+        assertEquals(1, summaries.getValue().size());
+        assertEquals("2", counted.getBookId());
+        assertEquals(1, counted.getCount());
+        try (ReviewJournal journal = new ReviewJournal(tempDir.resolve("reviews.journal"), 1024 * 1024, false)) {
+            assertEquals(0, journal.recoveredEntries().size());
+        }
+    }
+
+    @Test
+    void testSubmitIsRejectedWhenBufferIsFull() throws Exception {
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1);
+        ReflectionTestUtils.setField(writer, "acceptTimeoutMs", 10L);
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("Mongo is down"));
+        writer.init();
+
+        writer.submit(review("65f000000000000000000001", "1", 5));
+
+        assertThrows(RejectedExecutionException.class, () -> writer.submit(review("65f000000000000000000002", "1", 4)));
+        assertEquals(1L, writer.getStats().get("rejected"));
+    }
+
+    @Test
+    void testJournalOfTwoGigabytesIsRejectedAtStartup() {
+        ReflectionTestUtils.setField(writer, "journalSizeMb", 2048);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, writer::init);
+        assertEquals("reviewer.write-behind.journal-size-mb must be between 1 and 2047, got 2048",
+                exception.getMessage());
+        assertFalse(Files.exists(tempDir.resolve("reviews.journal")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<RatingStats> anyCollectionOf() {
+        return any(Collection.class);
+    }
+
+    private static Review review(String id, String bookId, int rating) {
+        Review review = new Review(bookId, "John Doe", rating, "Comment");
+        review.setId(id);
+        return review;
+    }
+}